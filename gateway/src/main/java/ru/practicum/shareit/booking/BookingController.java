@@ -6,12 +6,17 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -22,20 +27,22 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(
+    public Mono<ResponseEntity<Object>> getBookings(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(name = "state", defaultValue = "all") String stateParam,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "after", required = false) String after) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, after={}",
+                stateParam, userId, from, size, after);
 
-        return bookingClient.getBookings(userId, state, from, size);
+        return bookingClient.getBookings(userId, state, from, size, after);
     }
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(
+    public Mono<ResponseEntity<Object>> bookItem(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestBody @Valid BookItemRequestDto bookingRequestDto) {
         log.info("Creating booking {}, userId={}", bookingRequestDto, userId);
@@ -43,8 +50,17 @@ public class BookingController {
         return bookingClient.bookItem(userId, bookingRequestDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> bookItems(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestBody @NotEmpty @Size(max = 100) List<@Valid BookItemRequestDto> bookingRequestDtos) {
+        log.info("Creating {} bookings, userId={}", bookingRequestDtos.size(), userId);
+
+        return bookingClient.bookItems(userId, bookingRequestDtos);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(
+    public Mono<ResponseEntity<Object>> getBooking(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
@@ -53,22 +69,32 @@ public class BookingController {
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approve(
+    public Mono<ResponseEntity<Object>> approve(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PathVariable Long bookingId,
             @RequestParam Boolean approved) {
         return bookingClient.approve(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> approveAll(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestBody @NotEmpty @Size(max = 100) List<@Valid BookingDecisionDto> decisions) {
+        log.info("Deciding {} bookings, userId={}", decisions.size(), userId);
+
+        return bookingClient.approveAll(userId, decisions);
+    }
+
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllByOwner(
+    public Mono<ResponseEntity<Object>> getAllByOwner(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(name = "state", defaultValue = "all") String stateParam,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "after", required = false) String after) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
 
-        return bookingClient.getAllByOwner(userId, state, from, size);
+        return bookingClient.getAllByOwner(userId, state, from, size, after);
     }
 }
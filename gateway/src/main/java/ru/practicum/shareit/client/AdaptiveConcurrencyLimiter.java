@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AdaptiveConcurrencyLimiter {
+    private final ServerResilienceProperties.Limiter properties;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    private volatile double longRtt;
+
+    private volatile double shortRtt;
+
+    public AdaptiveConcurrencyLimiter(ServerResilienceProperties.Limiter properties) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+    }
+
+    public boolean tryAcquire() {
+        int current = inFlight.incrementAndGet();
+        if (current > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void onSuccess(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        update(rttNanos, current, false);
+    }
+
+    public void onDropped() {
+        int current = inFlight.getAndDecrement();
+        update(0, current, true);
+    }
+
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public double getLongRttMillis() {
+        return longRtt / 1_000_000;
+    }
+
+    public double getShortRttMillis() {
+        return shortRtt / 1_000_000;
+    }
+
+    private synchronized void update(long rttNanos, int current, boolean dropped) {
+        double newLimit;
+        if (dropped) {
+            newLimit = limit * properties.getBackoffRatio();
+        } else {
+            shortRtt = Math.max(1, rttNanos);
+            longRtt = longRtt == 0 ? shortRtt : longRtt + (shortRtt - longRtt) / properties.getLongWindow();
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+            if (current < limit / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * longRtt / shortRtt));
+            newLimit = limit * gradient + Math.sqrt(limit);
+            newLimit = limit * (1 - properties.getSmoothing()) + newLimit * properties.getSmoothing();
+        }
+        limit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), newLimit));
+    }
+}
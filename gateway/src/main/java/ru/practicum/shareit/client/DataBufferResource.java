@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+public class DataBufferResource extends AbstractResource {
+    private static final int PREFETCH = 4;
+
+    private final Flux<DataBuffer> body;
+
+    public DataBufferResource(Flux<DataBuffer> body) {
+        this.body = body;
+    }
+
+    public Flux<DataBuffer> getBody() {
+        return body;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Server response body";
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    // Spring MVC copies a Resource body through this stream, so the servlet thread blocks while it waits for
+    // the next buffer: the reactive transport frees threads while the server prepares its answer, not while
+    // the body is relayed. ServerTransportLoadTests measures both transports under the same load.
+    @Override
+    public InputStream getInputStream() {
+        return new DataBufferInputStream(body.doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .toStream(PREFETCH));
+    }
+
+    private static final class DataBufferInputStream extends InputStream {
+        private final Stream<DataBuffer> buffers;
+
+        private final Iterator<DataBuffer> iterator;
+
+        private DataBuffer current;
+
+        DataBufferInputStream(Stream<DataBuffer> buffers) {
+            this.buffers = buffers;
+            this.iterator = buffers.iterator();
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            try {
+                while (current == null || current.readableByteCount() == 0) {
+                    release();
+                    if (!iterator.hasNext()) {
+                        return -1;
+                    }
+                    current = iterator.next();
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Server response body failed", e);
+            }
+            int count = Math.min(length, current.readableByteCount());
+            current.read(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public void close() {
+            release();
+            buffers.close();
+        }
+
+        private void release() {
+            if (current != null) {
+                DataBufferUtils.release(current);
+                current = null;
+            }
+        }
+    }
+}
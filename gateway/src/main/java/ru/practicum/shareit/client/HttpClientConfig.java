@@ -0,0 +1,104 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "shareit-server.transport", havingValue = "blocking", matchIfMissing = true)
+    static class BlockingTransportConfig {
+        @Bean
+        public PoolingHttpClientConnectionManager shareitServerConnectionManager(HttpClientProperties properties) {
+            PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+            connectionManager.setMaxTotal(properties.getMaxConnections());
+            connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+            connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+            return connectionManager;
+        }
+
+        @Bean
+        public CloseableHttpClient shareitServerHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                           HttpClientProperties properties) {
+            long keepAlive = properties.getKeepAlive().toMillis();
+            return HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                            .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                            .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                            .build())
+                    .setKeepAliveStrategy((response, context) -> {
+                        long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                                .getKeepAliveDuration(response, context);
+                        return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+                    })
+                    .evictExpiredConnections()
+                    .evictIdleConnections(properties.getIdleEviction().toMillis(), TimeUnit.MILLISECONDS)
+                    .build();
+        }
+
+        @Bean
+        public ClientHttpRequestFactory shareitServerRequestFactory(CloseableHttpClient shareitServerHttpClient) {
+            return new HttpComponentsClientHttpRequestFactory(shareitServerHttpClient);
+        }
+
+        // One worker per pooled connection: a call beyond that would only wait for a connection anyway, and the
+        // shared boundedElastic scheduler would cap the transport at ten threads per core.
+        @Bean(destroyMethod = "dispose")
+        public Scheduler shareitServerScheduler(HttpClientProperties properties) {
+            return Schedulers.newBoundedElastic(properties.getMaxConnections(),
+                    Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "shareit-server");
+        }
+
+        @Bean
+        public MeterBinder shareitServerConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+            return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server");
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "shareit-server.transport", havingValue = "reactive")
+    static class ReactiveTransportConfig {
+        @Bean(destroyMethod = "dispose")
+        public ConnectionProvider shareitServerConnectionProvider(HttpClientProperties properties) {
+            return ConnectionProvider.builder("shareit-server")
+                    .maxConnections(properties.getMaxConnections())
+                    .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                    .maxIdleTime(properties.getKeepAlive())
+                    .evictInBackground(properties.getIdleEviction())
+                    .metrics(true)
+                    .build();
+        }
+
+        @Bean
+        public ClientHttpConnector shareitServerHttpConnector(ConnectionProvider shareitServerConnectionProvider,
+                                                              HttpClientProperties properties) {
+            return new ReactorClientHttpConnector(HttpClient.create(shareitServerConnectionProvider)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                    .responseTimeout(properties.getReadTimeout())
+                    .compress(true));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+@EnableConfigurationProperties(RequestCoalescerProperties.class)
+public class RequestCoalescer implements MeterBinder {
+    private final boolean enabled;
+
+    private final List<String> keyHeaders;
+
+    private final Map<String, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder leaders = new LongAdder();
+
+    private final LongAdder collapsed = new LongAdder();
+
+    public RequestCoalescer(RequestCoalescerProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.keyHeaders = properties.getKeyHeaders();
+    }
+
+    public Mono<ResponseEntity<Object>> execute(String key, HttpHeaders headers,
+                                                Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        StringBuilder flightKey = new StringBuilder(key);
+        for (String name : keyHeaders) {
+            flightKey.append(' ').append(name).append('=').append(headers.getOrEmpty(name));
+        }
+        return Mono.defer(() -> join(flightKey.toString(), loader));
+    }
+
+    private Mono<ResponseEntity<Object>> join(String key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        Mono<ResponseEntity<Object>> existing = inFlight.get(key);
+        if (existing != null) {
+            collapsed.increment();
+            return existing;
+        }
+        AtomicReference<Mono<ResponseEntity<Object>>> call = new AtomicReference<>();
+        call.set(loader.get()
+                .flatMap(ServerResponses::buffered)
+                .doFinally(signal -> inFlight.remove(key, call.get()))
+                .cache());
+        existing = inFlight.putIfAbsent(key, call.get());
+        if (existing != null) {
+            collapsed.increment();
+            return existing;
+        }
+        leaders.increment();
+        return call.get();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("shareit-server.requests.coalesced", leaders, LongAdder::sum)
+                .tag("result", "leader")
+                .register(registry);
+        FunctionCounter.builder("shareit-server.requests.coalesced", collapsed, LongAdder::sum)
+                .tag("result", "collapsed")
+                .register(registry);
+        Gauge.builder("shareit-server.requests.in-flight", inFlight, Map::size)
+                .register(registry);
+    }
+}
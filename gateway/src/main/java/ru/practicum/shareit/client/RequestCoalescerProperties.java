@@ -0,0 +1,17 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.coalescing")
+public class RequestCoalescerProperties {
+    private boolean enabled = true;
+
+    private List<String> keyHeaders = List.of("X-Sharer-User-Id", HttpHeaders.IF_NONE_MATCH);
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpServerErrorException;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exceptions.ServiceUnavailableException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ResilientTransport implements ServerTransport {
+    // Other 5xx answers are the server's application errors, not signs that it is overloaded or down.
+    private static final Set<Integer> FAILURE_STATUSES = Set.of(502, 503, 504);
+
+    private final String group;
+
+    private final ServerTransport delegate;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final Bulkhead bulkhead;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ResilientTransport(String group, ServerTransport delegate, CircuitBreaker circuitBreaker,
+                              Bulkhead bulkhead, AdaptiveConcurrencyLimiter limiter) {
+        this.group = group;
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Mono.error(new ServiceUnavailableException("Server circuit for " + group + " is open"));
+            }
+            if (!bulkhead.tryAcquirePermission()) {
+                circuitBreaker.releasePermission();
+                return Mono.error(new ServiceUnavailableException("Too many concurrent " + group + " requests"));
+            }
+            if (!limiter.tryAcquire()) {
+                bulkhead.onComplete();
+                circuitBreaker.releasePermission();
+                return Mono.error(new ServiceUnavailableException("Server concurrency limit for " + group
+                        + " reached"));
+            }
+            Call call = new Call();
+            return delegate.exchange(method, path, headers, parameters, body)
+                    .map(call::track)
+                    .doOnError(call::fail)
+                    .doOnCancel(call::cancel);
+        });
+    }
+
+    @Nullable
+    private static Throwable failure(ResponseEntity<Object> response) {
+        int status = response.getStatusCodeValue();
+        return FAILURE_STATUSES.contains(status)
+                ? new HttpServerErrorException(HttpStatus.valueOf(status))
+                : null;
+    }
+
+    private class Call {
+        private final long start = System.nanoTime();
+
+        private final AtomicBoolean sampled = new AtomicBoolean();
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        // The limiter and the circuit breaker sample the round trip up to the response headers, so a slow
+        // client neither inflates the RTT nor holds a limiter slot. Only the bulkhead permit is held until the
+        // body has been relayed, as the connection stays busy until then.
+        ResponseEntity<Object> track(ResponseEntity<Object> response) {
+            sample(failure(response));
+            Object body = response.getBody();
+            if (body instanceof DataBufferResource) {
+                body = new DataBufferResource(((DataBufferResource) body).getBody()
+                        .doFinally(signal -> release()));
+            } else if (body instanceof Resource) {
+                body = new InputStreamResource(trackedStream((Resource) body));
+            } else {
+                release();
+                return response;
+            }
+            return ResponseEntity.status(response.getStatusCodeValue())
+                    .headers(response.getHeaders())
+                    .body(body);
+        }
+
+        private InputStream trackedStream(Resource body) {
+            try {
+                return new FilterInputStream(body.getInputStream()) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            release();
+                        }
+                    }
+                };
+            } catch (IOException e) {
+                release();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void fail(Throwable failure) {
+            sample(failure);
+            release();
+        }
+
+        void cancel() {
+            if (sampled.compareAndSet(false, true)) {
+                circuitBreaker.releasePermission();
+                limiter.onIgnore();
+            }
+            release();
+        }
+
+        private void sample(@Nullable Throwable failure) {
+            if (!sampled.compareAndSet(false, true)) {
+                return;
+            }
+            long duration = System.nanoTime() - start;
+            if (failure == null) {
+                circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+                limiter.onSuccess(duration);
+            } else {
+                circuitBreaker.onError(duration, TimeUnit.NANOSECONDS, failure);
+                limiter.onDropped();
+            }
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCache implements MeterBinder {
+    public static final String INVALIDATE_HEADER = "X-Cache-Invalidate";
+
+    private final boolean enabled;
+
+    private final Cache<String, CachedResponse> cache;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(ResponseCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    // An unexpired hit is served without asking the server. Writes through this instance drop the entries
+    // they tag, and the TTL bounds how long a write through another instance can go unnoticed. The loader is
+    // given the If-None-Match to send: a miss is loaded unconditionally so the 200 can be stored, and the
+    // client's conditional is then answered from the stored entry.
+    public Mono<ResponseEntity<Object>> get(String key, Set<String> tags, List<String> ifNoneMatch,
+                                            Function<List<String>, Mono<ResponseEntity<Object>>> loader) {
+        if (!enabled) {
+            return loader.apply(ifNoneMatch);
+        }
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached.toResponseEntity(ifNoneMatch));
+        }
+        long loadGeneration = generation.get();
+        return loader.apply(List.of()).flatMap(response -> {
+            if (response.getStatusCodeValue() != 200) {
+                return Mono.just(response);
+            }
+            return ServerResponses.bodyBytes(response.getBody()).map(body -> {
+                CachedResponse loaded = new CachedResponse(response.getHeaders(), body, tags);
+                if (generation.get() == loadGeneration) {
+                    cache.put(key, loaded);
+                }
+                return loaded.toResponseEntity(ifNoneMatch);
+            });
+        });
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public void invalidate(ResponseEntity<Object> response) {
+        String header = response.getHeaders().getFirst(INVALIDATE_HEADER);
+        if (header == null || header.isBlank()) {
+            return;
+        }
+        Set<String> tags = Set.of(header.split(","));
+        generation.incrementAndGet();
+        cache.asMap().values().removeIf(cached -> cached.getTags().stream().anyMatch(tags::contains));
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        new CaffeineCacheMetrics(cache, "shareit-server.responses", Tags.empty()).bindTo(registry);
+    }
+
+    @Value
+    private static class CachedResponse {
+        HttpHeaders headers;
+        byte[] body;
+        Set<String> tags;
+
+        ResponseEntity<Object> toResponseEntity(List<String> ifNoneMatch) {
+            String etag = headers.getETag();
+            if (etag != null && (ifNoneMatch.contains(etag) || ifNoneMatch.contains("*"))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().headers(headers).body(body);
+        }
+    }
+}
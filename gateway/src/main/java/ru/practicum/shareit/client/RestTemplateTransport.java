@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Map;
+
+public class RestTemplateTransport implements ServerTransport {
+    private final RestTemplate rest;
+
+    private final Scheduler scheduler;
+
+    public RestTemplateTransport(RestTemplate rest, Scheduler scheduler) {
+        this.rest = rest;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.fromCallable(() -> send(method, path, headers, parameters, body))
+                .subscribeOn(scheduler);
+    }
+
+    private ResponseEntity<Object> send(HttpMethod method, String path, HttpHeaders headers,
+                                        @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        ClientHttpResponse shareitServerResponse = null;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            request.getHeaders().putAll(headers);
+            if (body != null) {
+                writeBody(body, request);
+            }
+            shareitServerResponse = request.execute();
+            return prepareGatewayResponse(shareitServerResponse);
+        } catch (IOException e) {
+            if (shareitServerResponse != null) {
+                shareitServerResponse.close();
+            }
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void writeBody(T body, ClientHttpRequest request) throws IOException {
+        for (HttpMessageConverter<?> converter : rest.getMessageConverters()) {
+            if (converter.canWrite(body.getClass(), MediaType.APPLICATION_JSON)) {
+                ((HttpMessageConverter<T>) converter).write(body, MediaType.APPLICATION_JSON, request);
+                return;
+            }
+        }
+        throw new HttpMessageNotWritableException("No converter for " + body.getClass());
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ClientHttpResponse response) throws IOException {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getRawStatusCode())
+                .headers(ServerHeaders.gatewayHeaders(response.getHeaders()));
+        InputStream body = response.getBody();
+
+        return responseBuilder.body(new InputStreamResource(new FilterInputStream(body) {
+            @Override
+            public void close() {
+                response.close();
+            }
+        }));
+    }
+}
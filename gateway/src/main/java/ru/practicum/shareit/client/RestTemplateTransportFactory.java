@@ -0,0 +1,36 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.scheduler.Scheduler;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.transport", havingValue = "blocking", matchIfMissing = true)
+public class RestTemplateTransportFactory implements ServerTransportFactory {
+    private final RestTemplateBuilder builder;
+
+    private final ClientHttpRequestFactory requestFactory;
+
+    private final Scheduler scheduler;
+
+    public RestTemplateTransportFactory(RestTemplateBuilder builder, ClientHttpRequestFactory requestFactory,
+                                        Scheduler shareitServerScheduler) {
+        this.builder = builder;
+        this.requestFactory = requestFactory;
+        this.scheduler = shareitServerScheduler;
+    }
+
+    @Override
+    public ServerTransport create(String baseUrl) {
+        return new RestTemplateTransport(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                scheduler
+        );
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@UtilityClass
+public class ServerHeaders {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade");
+
+    public static HttpHeaders requestHeaders(HttpMethod method, Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String accept = method == HttpMethod.GET ? gatewayRequestHeader(HttpHeaders.ACCEPT) : null;
+        // A client asking for NDJSON gets its own Accept forwarded, so the server can still fall back to JSON
+        // where the client allows it, or answer 406 on endpoints without an NDJSON variant.
+        headers.setAccept(serverAccept(accept));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        String ifNoneMatch = method == HttpMethod.GET ? gatewayRequestHeader(HttpHeaders.IF_NONE_MATCH) : null;
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return headers;
+    }
+
+    public static HttpHeaders gatewayHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+
+    private static List<MediaType> serverAccept(String accept) {
+        if (accept == null || !accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+            return List.of(MediaType.APPLICATION_JSON);
+        }
+        try {
+            return MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return List.of(MediaType.APPLICATION_NDJSON);
+        }
+    }
+
+    private static String gatewayRequestHeader(String name) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes
+                ? ((ServletRequestAttributes) attributes).getRequest().getHeader(name)
+                : null;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@EnableConfigurationProperties(ServerResilienceProperties.class)
+public class ServerResilience {
+    private final ServerResilienceProperties properties;
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ServerResilience(ServerResilienceProperties properties, CircuitBreakerRegistry circuitBreakerRegistry,
+                            BulkheadRegistry bulkheadRegistry, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ServerTransport decorate(String group, ServerTransport transport) {
+        if (!properties.isEnabled()) {
+            return transport;
+        }
+        AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(group, this::createLimiter);
+        return new ResilientTransport(group, transport, circuitBreakerRegistry.circuitBreaker(group),
+                bulkheadRegistry.bulkhead(group), limiter);
+    }
+
+    public Map<String, AdaptiveConcurrencyLimiter> getLimiters() {
+        return Collections.unmodifiableMap(limiters);
+    }
+
+    private AdaptiveConcurrencyLimiter createLimiter(String group) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties.getLimiter());
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("shareit-server.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("group", group)
+                    .register(registry);
+            Gauge.builder("shareit-server.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("group", group)
+                    .register(registry);
+        });
+        return limiter;
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+@Component
+@Endpoint(id = "serverresilience")
+public class ServerResilienceEndpoint {
+    private final ServerResilience serverResilience;
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public ServerResilienceEndpoint(ServerResilience serverResilience, CircuitBreakerRegistry circuitBreakerRegistry,
+                                    BulkheadRegistry bulkheadRegistry) {
+        this.serverResilience = serverResilience;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> groups() {
+        Map<String, Map<String, Object>> groups = new TreeMap<>();
+        serverResilience.getLimiters().forEach((group, limiter) -> {
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(group);
+            Bulkhead bulkhead = bulkheadRegistry.bulkhead(group);
+            Map<String, Object> state = new TreeMap<>();
+            state.put("circuitState", circuitBreaker.getState());
+            state.put("failureRate", circuitBreaker.getMetrics().getFailureRate());
+            state.put("slowCallRate", circuitBreaker.getMetrics().getSlowCallRate());
+            state.put("bulkheadAvailable", bulkhead.getMetrics().getAvailableConcurrentCalls());
+            state.put("bulkheadMax", bulkhead.getMetrics().getMaxAllowedConcurrentCalls());
+            state.put("concurrencyLimit", limiter.getLimit());
+            state.put("inFlight", limiter.getInFlight());
+            state.put("shortRttMillis", limiter.getShortRttMillis());
+            state.put("longRttMillis", limiter.getLongRttMillis());
+            groups.put(group, state);
+        });
+        return groups;
+    }
+}
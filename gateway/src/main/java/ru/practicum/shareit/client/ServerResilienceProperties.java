@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class ServerResilienceProperties {
+    private boolean enabled = true;
+
+    private final Limiter limiter = new Limiter();
+
+    @Getter
+    @Setter
+    public static class Limiter {
+        private int initialLimit = 20;
+
+        private int minLimit = 4;
+
+        private int maxLimit = 200;
+
+        private double smoothing = 0.2;
+
+        private double rttTolerance = 1.5;
+
+        private int longWindow = 600;
+
+        private double backoffRatio = 0.9;
+    }
+}
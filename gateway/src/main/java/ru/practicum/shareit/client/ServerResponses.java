@@ -0,0 +1,47 @@
+package ru.practicum.shareit.client;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+
+@UtilityClass
+public class ServerResponses {
+    public static Mono<ResponseEntity<Object>> buffered(ResponseEntity<Object> response) {
+        if (response.getBody() == null || response.getBody() instanceof byte[]) {
+            return Mono.just(response);
+        }
+        return bodyBytes(response.getBody())
+                .map(body -> ResponseEntity.status(response.getStatusCodeValue())
+                        .headers(response.getHeaders())
+                        .body(body));
+    }
+
+    public static Mono<byte[]> bodyBytes(Object body) {
+        if (body == null) {
+            return Mono.just(new byte[0]);
+        }
+        if (body instanceof byte[]) {
+            return Mono.just((byte[]) body);
+        }
+        if (body instanceof DataBufferResource) {
+            return DataBufferUtils.join(((DataBufferResource) body).getBody())
+                    .map(buffer -> {
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        DataBufferUtils.release(buffer);
+                        return bytes;
+                    })
+                    .defaultIfEmpty(new byte[0]);
+        }
+        return Mono.fromCallable(() -> {
+            try (InputStream inputStream = ((Resource) body).getInputStream()) {
+                return StreamUtils.copyToByteArray(inputStream);
+            }
+        });
+    }
+}
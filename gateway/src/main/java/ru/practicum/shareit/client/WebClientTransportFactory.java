@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.transport", havingValue = "reactive")
+public class WebClientTransportFactory implements ServerTransportFactory {
+    private final WebClient.Builder builder;
+
+    private final ClientHttpConnector connector;
+
+    public WebClientTransportFactory(WebClient.Builder builder, ClientHttpConnector connector) {
+        this.builder = builder;
+        this.connector = connector;
+    }
+
+    @Override
+    public ServerTransport create(String baseUrl) {
+        return new WebClientTransport(
+                builder.clone()
+                        .baseUrl(baseUrl)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+}
@@ -2,15 +2,18 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerResilience;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,16 +21,14 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory,
+                      ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                      ServerResilience serverResilience) {
+        super(serverResilience.decorate("items", transportFactory.create(serverUrl + API_PREFIX)), responseCache,
+                requestCoalescer);
     }
 
-    public ResponseEntity<Object> getItems(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getItems(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -35,32 +36,36 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItem(Long itemId, long userId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItem(Long itemId, long userId) {
+        return cachedGet("/" + itemId, userId, null, "items", "item:" + itemId);
     }
 
-    public ResponseEntity<Object> createItem(long userId, ItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createItem(long userId, ItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> updateItem(ItemRequestDto requestDto, Long itemId, long userId) {
+    public Mono<ResponseEntity<Object>> createItems(long userId, List<ItemRequestDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(ItemRequestDto requestDto, Long itemId, long userId) {
         return patch("/" + itemId, userId, requestDto);
     }
 
-    public ResponseEntity<Object> deleteItem(Long itemId, long userId) {
+    public Mono<ResponseEntity<Object>> deleteItem(Long itemId, long userId) {
         return delete("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> searchItem(String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> searchItem(String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+        return cachedGet("/search?text={text}&from={from}&size={size}", null, parameters, "items");
     }
 
-    public ResponseEntity<Object> createComment(Long itemId, long userId, CommentRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createComment(Long itemId, long userId, CommentRequestDto requestDto) {
         return post("/" + itemId + "/comment", userId, requestDto);
     }
 }
\ No newline at end of file
@@ -6,13 +6,17 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 import java.util.Collections;
+import java.util.List;
 
 @Controller
 @RequestMapping("/items")
@@ -23,7 +27,7 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @GetMapping
-    public ResponseEntity<Object> getItems(
+    public Mono<ResponseEntity<Object>> getItems(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
             @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
@@ -32,7 +36,7 @@ public class ItemController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getItem(
+    public Mono<ResponseEntity<Object>> getItem(
             @PathVariable Long id,
             @RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Get item {}", id);
@@ -40,43 +44,51 @@ public class ItemController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> createItem(
+    public Mono<ResponseEntity<Object>> createItem(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestBody @Valid ItemRequestDto requestDto) {
         log.info("Create item");
         return itemClient.createItem(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createItems(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody @NotEmpty @Size(max = 100) List<@Valid ItemRequestDto> requestDtos) {
+        log.info("Create {} items", requestDtos.size());
+        return itemClient.createItems(userId, requestDtos);
+    }
+
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateItem(@RequestBody ItemRequestDto requestDto,
-                                             @PathVariable Long id,
-                                             @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> updateItem(@RequestBody ItemRequestDto requestDto,
+                                                   @PathVariable Long id,
+                                                   @RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Update item {}", id);
         return itemClient.updateItem(requestDto, id, userId);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteItem(@PathVariable Long id,
-                                             @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> deleteItem(@PathVariable Long id,
+                                                   @RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Delete item {}", id);
         return itemClient.deleteItem(id, userId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItem(
+    public Mono<ResponseEntity<Object>> searchItem(
             @RequestParam String text,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
             @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
         log.info("Search items by text {}", text);
         if (text.isBlank()) {
-            return ResponseEntity.ok(Collections.emptyList());
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
         }
 
         return itemClient.searchItem(text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(
+    public Mono<ResponseEntity<Object>> createComment(
             @PathVariable Long itemId,
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @Valid @RequestBody CommentRequestDto requestDto) {
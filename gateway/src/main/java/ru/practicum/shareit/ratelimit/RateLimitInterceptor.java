@@ -0,0 +1,34 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exceptions.TooManyRequestsException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!rateLimiter.isEnabled() || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        String userId = request.getHeader(USER_HEADER);
+        String client = userId != null ? "user:" + userId : "ip:" + request.getRemoteAddr();
+        long retryAfter = rateLimiter.tryAcquire(client, request.getMethod(), request.getRequestURI());
+        if (retryAfter > 0) {
+            throw new TooManyRequestsException("Rate limit exceeded for " + client, retryAfter);
+        }
+        return true;
+    }
+}
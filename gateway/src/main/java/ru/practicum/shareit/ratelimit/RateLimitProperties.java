@@ -0,0 +1,37 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+
+    private long maximumKeys = 1_000_000;
+
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    private Quota defaultQuota = new Quota();
+
+    private Map<String, Quota> quotas = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Quota {
+        private List<String> paths = List.of();
+
+        private List<String> methods = List.of();
+
+        private long capacity = 100;
+
+        private double refillPerSecond = 50;
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter implements MeterBinder {
+    private static final String DEFAULT_QUOTA = "default";
+
+    private final RateLimitProperties properties;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    private MeterRegistry meterRegistry;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumKeys())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .recordStats()
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public long tryAcquire(String client, String method, String path) {
+        String quotaName = DEFAULT_QUOTA;
+        RateLimitProperties.Quota quota = properties.getDefaultQuota();
+        for (Map.Entry<String, RateLimitProperties.Quota> entry : properties.getQuotas().entrySet()) {
+            if (matches(entry.getValue(), method, path)) {
+                quotaName = entry.getKey();
+                quota = entry.getValue();
+                break;
+            }
+        }
+        RateLimitProperties.Quota matched = quota;
+        TokenBucket bucket = buckets.get(quotaName + ":" + client,
+                key -> new TokenBucket(matched.getCapacity(), matched.getRefillPerSecond()));
+        long waitNanos = bucket.tryConsume(System.nanoTime());
+        if (waitNanos > 0 && meterRegistry != null) {
+            rejections.computeIfAbsent(quotaName, name -> Counter.builder("shareit.rate-limit.rejected")
+                    .tag("quota", name)
+                    .register(meterRegistry)).increment();
+        }
+        return TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        this.meterRegistry = registry;
+        new CaffeineCacheMetrics(buckets, "shareit.rate-limit.buckets", Tags.empty()).bindTo(registry);
+    }
+
+    private boolean matches(RateLimitProperties.Quota quota, String method, String path) {
+        return (quota.getMethods().isEmpty() || quota.getMethods().contains(method))
+                && (quota.getPaths().isEmpty() || quota.getPaths().stream().anyMatch(p -> pathMatcher.match(p, path)));
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucket {
+    private final long emissionInterval;
+
+    private final long burstTolerance;
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(long capacity, double refillPerSecond) {
+        this.emissionInterval = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstTolerance = emissionInterval * capacity;
+    }
+
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, nowNanos) + emissionInterval;
+            long wait = next - nowNanos - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerResilience;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
 import java.util.Map;
@@ -15,30 +17,29 @@ import java.util.Map;
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory,
+                             ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                             ServerResilience serverResilience) {
+        super(serverResilience.decorate("requests", transportFactory.create(serverUrl + API_PREFIX)), responseCache,
+                requestCoalescer);
     }
 
-    public ResponseEntity<Object> getAll(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getAll(long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size);
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return cachedGet("/all?from={from}&size={size}", userId, parameters, "requests");
     }
 
-    public ResponseEntity<Object> createItemRequest(long userId, ItemRequestRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createItemRequest(long userId, ItemRequestRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getItemRequestsByUser(long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequestsByUser(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getItemRequest(Long requestId, long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequest(Long requestId, long userId) {
         return get("/" + requestId, userId);
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
 import javax.validation.Valid;
@@ -21,29 +22,29 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                    @Valid @RequestBody ItemRequestRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createItemRequest(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                          @Valid @RequestBody ItemRequestRequestDto requestDto) {
         log.info("Create item request by user {}", userId);
         return itemRequestClient.createItemRequest(userId, requestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemRequestsByUser(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequestsByUser(@RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Get all user {} item requests", userId);
         return itemRequestClient.getItemRequestsByUser(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllItemRequests(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                     @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                     @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getAllItemRequests(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                           @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                           @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
         log.info("Get all item requests without user {}", userId);
         return itemRequestClient.getAll(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequest(@PathVariable Long requestId,
-                                                 @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequest(@PathVariable Long requestId,
+                                                       @RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Get item request {}", requestId);
         return itemRequestClient.getItemRequest(requestId, userId);
     }
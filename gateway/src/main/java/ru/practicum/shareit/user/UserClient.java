@@ -2,12 +2,14 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerResilience;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
 @Service
@@ -15,31 +17,30 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory,
+                      ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                      ServerResilience serverResilience) {
+        super(serverResilience.decorate("users", transportFactory.create(serverUrl + API_PREFIX)), responseCache,
+                requestCoalescer);
     }
 
-    public ResponseEntity<Object> getUsers() {
-        return get("");
+    public Mono<ResponseEntity<Object>> getUsers() {
+        return cachedGet("", null, null, "users");
     }
 
-    public ResponseEntity<Object> getUser(Long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<Object>> getUser(Long userId) {
+        return cachedGet("/" + userId, null, null, "users");
     }
 
-    public ResponseEntity<Object> createUser(UserRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createUser(UserRequestDto requestDto) {
         return post("", requestDto);
     }
 
-    public ResponseEntity<Object> updateUser(Long userId, UserRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> updateUser(Long userId, UserRequestDto requestDto) {
         return patch("/" + userId, requestDto);
     }
 
-    public ResponseEntity<Object> deleteUser(Long userId) {
+    public Mono<ResponseEntity<Object>> deleteUser(Long userId) {
         return delete("/" + userId);
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.Marker;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
@@ -18,32 +19,34 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<Object>> getUsers() {
         log.info("Get all users");
         return userClient.getUsers();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getUser(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable Long id) {
         log.info("Get user {}", id);
         return userClient.getUser(id);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@RequestBody @Validated({Marker.OnCreate.class}) UserRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createUser(
+            @RequestBody @Validated({Marker.OnCreate.class}) UserRequestDto requestDto) {
         log.info("Creating user");
         return userClient.createUser(requestDto);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateUser(@RequestBody @Validated(Marker.OnUpdate.class) UserRequestDto requestDto,
-                                             @PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> updateUser(
+            @RequestBody @Validated(Marker.OnUpdate.class) UserRequestDto requestDto,
+            @PathVariable Long id) {
         log.info("Update user {}", id);
         return userClient.updateUser(id, requestDto);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteUser(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> deleteUser(@PathVariable Long id) {
         log.info("Delete user {}", id);
         return userClient.deleteUser(id);
     }
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.clienttests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.client.AdaptiveConcurrencyLimiter;
+import ru.practicum.shareit.client.ServerResilienceProperties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimiterTests {
+    private static final long MILLIS = 1_000_000L;
+
+    private ServerResilienceProperties.Limiter properties;
+
+    @BeforeEach
+    void init() {
+        properties = new ServerResilienceProperties().getLimiter();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(4);
+        properties.setMaxLimit(100);
+    }
+
+    @Test
+    void rejectsAboveLimitTest() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        assertEquals(10, limiter.getInFlight());
+
+        limiter.onIgnore();
+        assertEquals(10, limiter.getLimit());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void dropBacksOffToMinLimitTest() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        limiter.tryAcquire();
+        limiter.onDropped();
+        assertEquals(9, limiter.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void growsWhileRttIsStableTest() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        for (int round = 0; round < 20; round++) {
+            saturate(limiter, 10 * MILLIS);
+        }
+        assertTrue(limiter.getLimit() > 10);
+        assertTrue(limiter.getLimit() <= 100);
+    }
+
+    @Test
+    void shrinksWhenRttGrowsTest() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        for (int round = 0; round < 20; round++) {
+            saturate(limiter, 10 * MILLIS);
+        }
+        int grown = limiter.getLimit();
+
+        for (int round = 0; round < 5; round++) {
+            saturate(limiter, 100 * MILLIS);
+        }
+        assertTrue(limiter.getLimit() < grown);
+    }
+
+    @Test
+    void idleSamplesDoNotChangeLimitTest() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(10 * MILLIS);
+        }
+        assertEquals(10, limiter.getLimit());
+        assertEquals(10.0, limiter.getShortRttMillis(), 0.001);
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.onSuccess(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.clienttests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.RequestCoalescerProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class RequestCoalescerTests {
+    private RequestCoalescer requestCoalescer;
+
+    private AtomicInteger calls;
+
+    private Sinks.One<ResponseEntity<Object>> server;
+
+    private Supplier<Mono<ResponseEntity<Object>>> loader;
+
+    @BeforeEach
+    void init() {
+        requestCoalescer = new RequestCoalescer(new RequestCoalescerProperties());
+        calls = new AtomicInteger();
+        server = Sinks.one();
+        loader = () -> {
+            calls.incrementAndGet();
+            return server.asMono();
+        };
+    }
+
+    @Test
+    void concurrentRequestsCollapseTest() {
+        Mono<ResponseEntity<Object>> first = requestCoalescer.execute("key", headers(1), loader);
+        Mono<ResponseEntity<Object>> second = requestCoalescer.execute("key", headers(1), loader);
+        first.subscribe();
+        second.subscribe();
+
+        server.tryEmitValue(ResponseEntity.ok().body(new byte[]{1}));
+
+        assertEquals(1, calls.get());
+        assertSame(first.block().getBody(), second.block().getBody());
+    }
+
+    @Test
+    void completedFlightIsRemovedTest() {
+        requestCoalescer.execute("key", headers(1), loader).subscribe();
+        server.tryEmitValue(ResponseEntity.ok().body(new byte[]{1}));
+
+        requestCoalescer.execute("key", headers(1), () -> {
+            calls.incrementAndGet();
+            return Mono.just(ResponseEntity.ok().body(new byte[]{2}));
+        }).block();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void failedFlightIsRemovedTest() {
+        requestCoalescer.execute("key", headers(1), loader).subscribe(response -> { }, error -> { });
+        server.tryEmitError(new IllegalStateException("server down"));
+
+        requestCoalescer.execute("key", headers(1), () -> {
+            calls.incrementAndGet();
+            return Mono.just(ResponseEntity.ok().build());
+        }).block();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void differentKeyHeadersDoNotCollapseTest() {
+        requestCoalescer.execute("key", headers(1), loader).subscribe();
+        requestCoalescer.execute("key", headers(2), loader).subscribe();
+        requestCoalescer.execute("other", headers(1), loader).subscribe();
+
+        assertEquals(3, calls.get());
+    }
+
+    private static HttpHeaders headers(long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return headers;
+    }
+}
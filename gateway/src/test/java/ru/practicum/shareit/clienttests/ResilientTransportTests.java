@@ -0,0 +1,100 @@
+package ru.practicum.shareit.clienttests;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.client.AdaptiveConcurrencyLimiter;
+import ru.practicum.shareit.client.DataBufferResource;
+import ru.practicum.shareit.client.ResilientTransport;
+import ru.practicum.shareit.client.ServerResilienceProperties;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ResilientTransportTests {
+    private CircuitBreaker circuitBreaker;
+
+    private Bulkhead bulkhead;
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    private ResponseEntity<Object> serverResponse;
+
+    private ResilientTransport transport;
+
+    @BeforeEach
+    void init() {
+        circuitBreaker = CircuitBreaker.ofDefaults("test");
+        bulkhead = Bulkhead.ofDefaults("test");
+        limiter = new AdaptiveConcurrencyLimiter(new ServerResilienceProperties().getLimiter());
+        transport = new ResilientTransport("test", (method, path, headers, parameters, body) ->
+                Mono.just(serverResponse), circuitBreaker, bulkhead, limiter);
+    }
+
+    @Test
+    void limiterIsSampledAtHeadersAndBulkheadHeldUntilStreamClosedTest() throws IOException {
+        serverResponse = ResponseEntity.ok().body(new ByteArrayResource(bytes("body")));
+
+        ResponseEntity<Object> response = exchange();
+
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+        assertEquals(bulkhead.getBulkheadConfig().getMaxConcurrentCalls() - 1,
+                bulkhead.getMetrics().getAvailableConcurrentCalls());
+        try (InputStream body = ((Resource) response.getBody()).getInputStream()) {
+            assertEquals("body", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(bulkhead.getBulkheadConfig().getMaxConcurrentCalls(),
+                bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void bulkheadHeldUntilBufferedBodyCompletesTest() {
+        Sinks.Many<DataBuffer> body = Sinks.many().unicast().onBackpressureBuffer();
+        serverResponse = ResponseEntity.ok().body(new DataBufferResource(body.asFlux()));
+
+        ResponseEntity<Object> response = exchange();
+        ((DataBufferResource) response.getBody()).getBody().subscribe();
+
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(bulkhead.getBulkheadConfig().getMaxConcurrentCalls() - 1,
+                bulkhead.getMetrics().getAvailableConcurrentCalls());
+        body.tryEmitNext(DefaultDataBufferFactory.sharedInstance.wrap(bytes("body")));
+        body.tryEmitComplete();
+        assertEquals(bulkhead.getBulkheadConfig().getMaxConcurrentCalls(),
+                bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void unavailableServerIsRecordedAtHeadersTest() {
+        serverResponse = ResponseEntity.status(503).build();
+
+        exchange();
+
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(bulkhead.getBulkheadConfig().getMaxConcurrentCalls(),
+                bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    private ResponseEntity<Object> exchange() {
+        return transport.exchange(HttpMethod.GET, "/", new HttpHeaders(), null, null).block();
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,169 @@
+package ru.practicum.shareit.clienttests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ResponseCacheTests {
+    private static final String KEY = "UserClient /1";
+
+    private ResponseCache responseCache;
+
+    private List<List<String>> sent;
+
+    @BeforeEach
+    void init() {
+        responseCache = new ResponseCache(new ResponseCacheProperties());
+        sent = new ArrayList<>();
+    }
+
+    @Test
+    void hitIsServedWithoutServerTest() {
+        get(List.of(), ok("\"v1\"", "first"));
+
+        ResponseEntity<Object> response = get(List.of(), ok("\"v2\"", "second"));
+
+        assertEquals(List.of(List.of()), sent);
+        assertEquals(200, response.getStatusCodeValue());
+        assertArrayEquals(bytes("first"), (byte[]) response.getBody());
+    }
+
+    @Test
+    void missIsLoadedWithoutClientConditionalTest() {
+        ResponseEntity<Object> response = get(List.of("\"v1\""), ok("\"v1\"", "first"));
+
+        assertEquals(List.of(List.of()), sent);
+        assertEquals(304, response.getStatusCodeValue());
+    }
+
+    @Test
+    void clientConditionalAnsweredFromCacheTest() {
+        get(List.of(), ok("\"v1\"", "first"));
+
+        ResponseEntity<Object> response = get(List.of("\"v1\""), ok("\"v1\"", "first"));
+
+        assertEquals(1, sent.size());
+        assertEquals(304, response.getStatusCodeValue());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void responseWithoutEtagIsStoredTest() {
+        get(List.of(), ok(null, "list"));
+
+        ResponseEntity<Object> response = get(List.of("*"), ok(null, "list"));
+
+        assertEquals(1, sent.size());
+        assertEquals(200, response.getStatusCodeValue());
+    }
+
+    @Test
+    void errorIsNotStoredTest() {
+        get(List.of(), status(HttpStatus.NOT_FOUND));
+        get(List.of(), status(HttpStatus.NOT_FOUND));
+
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void entryExpiresAfterTtlTest() throws InterruptedException {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setTtl(Duration.ofMillis(50));
+        responseCache = new ResponseCache(properties);
+        get(List.of(), ok("\"v1\"", "first"));
+
+        Thread.sleep(100);
+        ResponseEntity<Object> response = get(List.of(), ok("\"v2\"", "second"));
+
+        assertEquals(2, sent.size());
+        assertArrayEquals(bytes("second"), (byte[]) response.getBody());
+    }
+
+    @Test
+    void disabledCacheForwardsClientConditionalTest() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(false);
+        responseCache = new ResponseCache(properties);
+
+        get(List.of("\"v1\""), status(HttpStatus.NOT_MODIFIED));
+        get(List.of("\"v1\""), status(HttpStatus.NOT_MODIFIED));
+
+        assertEquals(List.of(List.of("\"v1\""), List.of("\"v1\"")), sent);
+    }
+
+    @Test
+    void invalidateDropsTaggedEntriesTest() {
+        get(List.of(), ok("\"v1\"", "first"));
+
+        responseCache.invalidate(ResponseEntity.ok().header(ResponseCache.INVALIDATE_HEADER, "items,users").build());
+        ResponseEntity<Object> response = get(List.of(), ok("\"v2\"", "second"));
+
+        assertEquals(2, sent.size());
+        assertArrayEquals(bytes("second"), (byte[]) response.getBody());
+        assertEquals(1, responseCache.generation());
+    }
+
+    @Test
+    void invalidateKeepsOtherTagsTest() {
+        get(List.of(), ok("\"v1\"", "first"));
+
+        responseCache.invalidate(ResponseEntity.ok().header(ResponseCache.INVALIDATE_HEADER, "items").build());
+        get(List.of(), ok("\"v2\"", "second"));
+
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    void loadStartedBeforeInvalidationIsNotStoredTest() {
+        Sinks.One<ResponseEntity<Object>> server = Sinks.one();
+        Mono<ResponseEntity<Object>> pending = responseCache.get(KEY, Set.of("users"), List.of(),
+                ifNoneMatch -> server.asMono());
+
+        responseCache.invalidate(ResponseEntity.ok().header(ResponseCache.INVALIDATE_HEADER, "users").build());
+        server.tryEmitValue(ok("\"v1\"", "stale"));
+        pending.block();
+        ResponseEntity<Object> response = get(List.of(), ok("\"v2\"", "fresh"));
+
+        assertEquals(1, sent.size());
+        assertArrayEquals(bytes("fresh"), (byte[]) response.getBody());
+    }
+
+    private ResponseEntity<Object> get(List<String> ifNoneMatch, ResponseEntity<Object> serverResponse) {
+        Function<List<String>, Mono<ResponseEntity<Object>>> loader = sentIfNoneMatch -> {
+            sent.add(sentIfNoneMatch);
+            return Mono.just(serverResponse);
+        };
+        return responseCache.get(KEY, Set.of("users"), ifNoneMatch, loader).block();
+    }
+
+    private static ResponseEntity<Object> ok(String etag, String body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        return response.body(bytes(body));
+    }
+
+    private static ResponseEntity<Object> status(HttpStatus status) {
+        return ResponseEntity.status(status).build();
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+}
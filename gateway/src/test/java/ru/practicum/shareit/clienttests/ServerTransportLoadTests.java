@@ -0,0 +1,139 @@
+package ru.practicum.shareit.clienttests;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Tag("benchmark")
+public class ServerTransportLoadTests {
+    private static final int CLIENTS = 200;
+
+    private static final int REQUESTS = 4000;
+
+    private static final int CHUNKS = 4;
+
+    private static final long SERVER_DELAY_MILLIS = 50;
+
+    private static final long CHUNK_DELAY_MILLIS = 10;
+
+    private static final byte[] CHUNK = ("[" + "{\"id\":1,\"name\":\"user\",\"email\":\"user@email.com\"},".repeat(200)
+            + "{\"id\":1,\"name\":\"user\",\"email\":\"user@email.com\"}]").getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private ExecutorService clients;
+
+    @BeforeEach
+    void init() throws IOException {
+        // A slow server: it thinks before answering, then sends the body in chunks.
+        serverExecutor = Executors.newFixedThreadPool(CLIENTS * 2);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), CLIENTS * 2);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            try (OutputStream body = exchange.getResponseBody()) {
+                Thread.sleep(SERVER_DELAY_MILLIS);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, 0);
+                for (int chunk = 0; chunk < CHUNKS; chunk++) {
+                    body.write(CHUNK);
+                    body.flush();
+                    Thread.sleep(CHUNK_DELAY_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        clients = Executors.newFixedThreadPool(CLIENTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clients.shutdownNow();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void blockingAgainstReactiveTransportTest() throws Exception {
+        long blocking = throughput("blocking");
+        long reactive = throughput("reactive");
+        log.info("reactive/blocking throughput: {}", String.format("%.2f", (double) reactive / blocking));
+    }
+
+    private long throughput(String transport) throws Exception {
+        try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ShareItGateway.class)
+                .run("--server.port=0",
+                        "--shareit-server.url=http://localhost:" + server.getAddress().getPort(),
+                        "--shareit-server.transport=" + transport,
+                        "--shareit-server.http-client.max-connections=" + CLIENTS,
+                        "--shareit-server.http-client.max-connections-per-route=" + CLIENTS,
+                        "--shareit-server.response-cache.enabled=false",
+                        "--shareit-server.coalescing.enabled=false",
+                        "--shareit-server.resilience.enabled=false",
+                        "--shareit.rate-limit.enabled=false",
+                        "--server.compression.enabled=false",
+                        "--logging.level.org.springframework.web.client.RestTemplate=INFO",
+                        "--logging.level.ru.practicum.shareit.user=WARN")) {
+            URI uri = URI.create("http://localhost:"
+                    + gateway.getEnvironment().getProperty("local.server.port") + "/users");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+            for (int warmup = 0; warmup < CLIENTS; warmup++) {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+
+            long[] latencies = new long[REQUESTS];
+            List<Future<?>> calls = new ArrayList<>();
+            long started = System.nanoTime();
+            for (int call = 0; call < REQUESTS; call++) {
+                int index = call;
+                calls.add(clients.submit(() -> {
+                    long sent = System.nanoTime();
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    latencies[index] = System.nanoTime() - sent;
+                    assertEquals(200, response.statusCode());
+                    assertEquals(CHUNK.length * CHUNKS, response.body().length);
+                    return null;
+                }));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+            long elapsed = System.nanoTime() - started;
+
+            Arrays.sort(latencies);
+            long throughput = REQUESTS * 1_000_000_000L / elapsed;
+            log.info("{} transport, {} requests from {} clients: {} requests/s, median {} ms, p99 {} ms", transport,
+                    REQUESTS, CLIENTS, throughput, latencies[REQUESTS / 2] / 1_000_000,
+                    latencies[REQUESTS * 99 / 100] / 1_000_000);
+            return throughput;
+        }
+    }
+}
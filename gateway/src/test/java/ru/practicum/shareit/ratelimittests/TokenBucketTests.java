@@ -0,0 +1,46 @@
+package ru.practicum.shareit.ratelimittests;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.ratelimit.TokenBucket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketTests {
+    private static final long SECOND = 1_000_000_000L;
+
+    private static final long START = 42 * SECOND;
+
+    @Test
+    void burstUpToCapacityTest() {
+        TokenBucket bucket = new TokenBucket(5, 10);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryConsume(START));
+        }
+        assertEquals(SECOND / 10, bucket.tryConsume(START));
+    }
+
+    @Test
+    void refillAtRateTest() {
+        TokenBucket bucket = new TokenBucket(2, 10);
+        bucket.tryConsume(START);
+        bucket.tryConsume(START);
+
+        long wait = bucket.tryConsume(START + SECOND / 20);
+        assertEquals(SECOND / 20, wait);
+        assertEquals(0, bucket.tryConsume(START + SECOND / 10));
+        assertTrue(bucket.tryConsume(START + SECOND / 10) > 0);
+    }
+
+    @Test
+    void idleTimeDoesNotExceedCapacityTest() {
+        TokenBucket bucket = new TokenBucket(3, 1);
+
+        long later = START + 60 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryConsume(later));
+        }
+        assertEquals(SECOND, bucket.tryConsume(later));
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dao.BookingDao;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusType;
+import ru.practicum.shareit.exceptions.ConflictException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingAvailability implements SmartInitializingSingleton {
+    private static final int BATCH_SIZE = 1000;
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    private final BookingDao bookingRepository;
+    private final BookingIntervalIndex intervalIndex = new BookingIntervalIndex();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        intervalIndex.clear();
+        LocalDateTime now = LocalDateTime.now();
+        Slice<Booking> slice = bookingRepository.findAllByStatusAndEndAfter(StatusType.APPROVED, now,
+                PageRequest.of(0, BATCH_SIZE, Sort.by("id")));
+        indexAll(slice);
+        while (slice.hasNext()) {
+            slice = bookingRepository.findAllByStatusAndEndAfter(StatusType.APPROVED, now, slice.nextPageable());
+            indexAll(slice);
+        }
+        log.info("Booking availability index rebuilt, {} approved bookings indexed", intervalIndex.size());
+    }
+
+    public void checkFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!intervalIndex.isFree(itemId, start, end)) {
+            throw new ConflictException("Item is already booked for these dates");
+        }
+    }
+
+    public void reserve(Booking booking) {
+        sweepIfDue();
+        Long itemId = booking.getItem().getId();
+        if (!intervalIndex.tryAdd(itemId, booking.getId(), booking.getStart(), booking.getEnd())) {
+            throw new ConflictException("Item is already booked for these dates");
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        intervalIndex.remove(itemId, booking.getId(), booking.getStart());
+                    }
+                }
+            });
+        }
+    }
+
+    public void release(Booking booking) {
+        intervalIndex.remove(booking.getItem().getId(), booking.getId(), booking.getStart());
+    }
+
+    // Deleting an item cascades to its bookings.
+    public void releaseItem(Long itemId) {
+        afterCommit(() -> intervalIndex.removeItem(itemId));
+    }
+
+    // Deleting a user cascades to the bookings they made and to the bookings of the items they own.
+    public void releaseUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>(
+                bookingRepository.findAllByBookerIdAndStatusAndEndAfter(userId, StatusType.APPROVED, now));
+        bookings.addAll(bookingRepository.findAllByItemOwnerIdAndStatusAndEndAfter(userId, StatusType.APPROVED, now));
+        afterCommit(() -> bookings.forEach(booking ->
+                intervalIndex.remove(booking.getItem().getId(), booking.getId(), booking.getStart())));
+    }
+
+    // Lookups prune the items they touch; this catches items that are never booked again.
+    private void sweepIfDue() {
+        long last = lastSweep.get();
+        long now = System.nanoTime();
+        if (now - last >= SWEEP_INTERVAL_NANOS && lastSweep.compareAndSet(last, now)) {
+            intervalIndex.pruneAll();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void indexAll(Iterable<Booking> bookings) {
+        for (Booking booking : bookings) {
+            if (!intervalIndex.tryAdd(booking.getItem().getId(), booking.getId(), booking.getStart(),
+                    booking.getEnd())) {
+                log.warn("Approved booking {} overlaps another approved booking of item {}",
+                        booking.getId(), booking.getItem().getId());
+            }
+        }
+    }
+}
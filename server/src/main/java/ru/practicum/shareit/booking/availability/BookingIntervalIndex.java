@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class BookingIntervalIndex {
+    private final Map<Long, NavigableMap<LocalDateTime, Interval>> items = new ConcurrentHashMap<>();
+
+    private final Clock clock;
+
+    public BookingIntervalIndex() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public BookingIntervalIndex(Clock clock) {
+        this.clock = clock;
+    }
+
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        AtomicBoolean free = new AtomicBoolean(true);
+        items.computeIfPresent(itemId, (key, intervals) -> {
+            free.set(!overlaps(intervals, start, end));
+            return prune(intervals, LocalDateTime.now(clock));
+        });
+        return free.get();
+    }
+
+    public boolean tryAdd(Long itemId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        AtomicBoolean added = new AtomicBoolean();
+        items.compute(itemId, (key, intervals) -> {
+            if (intervals == null) {
+                intervals = new TreeMap<>();
+            }
+            if (!overlaps(intervals, start, end)) {
+                intervals.put(start, new Interval(bookingId, end));
+                added.set(true);
+            }
+            return prune(intervals, LocalDateTime.now(clock));
+        });
+        return added.get();
+    }
+
+    public void remove(Long itemId, Long bookingId, LocalDateTime start) {
+        items.computeIfPresent(itemId, (key, intervals) -> {
+            Interval interval = intervals.get(start);
+            if (interval != null && interval.bookingId.equals(bookingId)) {
+                intervals.remove(start);
+            }
+            return intervals.isEmpty() ? null : intervals;
+        });
+    }
+
+    public void removeItem(Long itemId) {
+        items.remove(itemId);
+    }
+
+    public void pruneAll() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        items.keySet().forEach(itemId -> items.computeIfPresent(itemId, (key, intervals) -> prune(intervals, now)));
+    }
+
+    public void clear() {
+        items.clear();
+    }
+
+    public int size() {
+        return items.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private static boolean overlaps(NavigableMap<LocalDateTime, Interval> intervals,
+                                    LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, Interval> candidate = intervals.lowerEntry(end);
+        return candidate != null && candidate.getValue().end.isAfter(start);
+    }
+
+    // Intervals never overlap, so ordering by start also orders them by end and the ended ones form a prefix.
+    private static NavigableMap<LocalDateTime, Interval> prune(NavigableMap<LocalDateTime, Interval> intervals,
+                                                               LocalDateTime now) {
+        while (!intervals.isEmpty() && !intervals.firstEntry().getValue().end.isAfter(now)) {
+            intervals.pollFirstEntry();
+        }
+        return intervals.isEmpty() ? null : intervals;
+    }
+
+    private static final class Interval {
+        private final Long bookingId;
+        private final LocalDateTime end;
+
+        private Interval(Long bookingId, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.end = end;
+        }
+    }
+}
@@ -1,13 +1,22 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.model.StatusType;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.streaming.JsonLines;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -17,14 +26,24 @@ import java.util.List;
 public class BookingController {
     private final BookingService bookingService;
 
+    private final ObjectMapper objectMapper;
+
     private static final String HEADER_USER_ID = "X-Sharer-User-Id";
 
+    private static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+
     @PostMapping
     public BookingDto create(@RequestBody BookingRequestDto bookingRequestDto,
                              @RequestHeader(HEADER_USER_ID) Long userId) {
         return bookingService.create(bookingRequestDto, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingDto> createAll(@RequestBody List<BookingRequestDto> bookingRequestDtos,
+                                      @RequestHeader(HEADER_USER_ID) Long userId) {
+        return bookingService.createAll(bookingRequestDtos, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approve(@PathVariable Long bookingId,
                               @RequestHeader(HEADER_USER_ID) Long userId,
@@ -32,6 +51,12 @@ public class BookingController {
         return bookingService.approve(bookingId, userId, approved);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> approveAll(@RequestBody List<BookingDecisionDto> decisions,
+                                                     @RequestHeader(HEADER_USER_ID) Long userId) {
+        return bookingService.approveAll(decisions, userId);
+    }
+
     @GetMapping("/owner")
     public List<BookingDto> getAllByOwner(@RequestHeader(HEADER_USER_ID) Long userId,
                                           @RequestParam(defaultValue = "ALL") String state,
@@ -40,6 +65,26 @@ public class BookingController {
         return bookingService.getAllByOwner(userId, StatusType.getEnumByString(state), from, size);
     }
 
+    @GetMapping(path = "/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllByOwner(@RequestHeader(HEADER_USER_ID) Long userId,
+                                 @RequestParam(defaultValue = "ALL") String state,
+                                 @RequestParam(defaultValue = "0") int from,
+                                 @RequestParam(defaultValue = "10") int size,
+                                 HttpServletResponse response) throws IOException {
+        StatusType status = StatusType.getEnumByString(state);
+        JsonLines.<BookingDto>write(objectMapper, response,
+                sink -> bookingService.streamAllByOwner(userId, status, from, size, sink));
+    }
+
+    @GetMapping(path = "/owner", params = "after")
+    public ResponseEntity<List<BookingDto>> getAllByOwnerAfter(@RequestHeader(HEADER_USER_ID) Long userId,
+                                                               @RequestParam(defaultValue = "ALL") String state,
+                                                               @RequestParam String after,
+                                                               @RequestParam(defaultValue = "10") int size) {
+        return withNextCursor(bookingService.getAllByOwnerAfter(userId, StatusType.getEnumByString(state),
+                BookingCursor.decode(after), size), size);
+    }
+
     @GetMapping
     public List<BookingDto> getAllByUser(@RequestHeader(HEADER_USER_ID) Long userId,
                                          @RequestParam(defaultValue = "ALL") String state,
@@ -48,10 +93,37 @@ public class BookingController {
         return bookingService.getAllByUser(userId, StatusType.getEnumByString(state), from, size);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllByUser(@RequestHeader(HEADER_USER_ID) Long userId,
+                                @RequestParam(defaultValue = "ALL") String state,
+                                @RequestParam(defaultValue = "0") int from,
+                                @RequestParam(defaultValue = "10") int size,
+                                HttpServletResponse response) throws IOException {
+        StatusType status = StatusType.getEnumByString(state);
+        JsonLines.<BookingDto>write(objectMapper, response,
+                sink -> bookingService.streamAllByUser(userId, status, from, size, sink));
+    }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<List<BookingDto>> getAllByUserAfter(@RequestHeader(HEADER_USER_ID) Long userId,
+                                                              @RequestParam(defaultValue = "ALL") String state,
+                                                              @RequestParam String after,
+                                                              @RequestParam(defaultValue = "10") int size) {
+        return withNextCursor(bookingService.getAllByUserAfter(userId, StatusType.getEnumByString(state),
+                BookingCursor.decode(after), size), size);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getById(@PathVariable Long bookingId,
                               @RequestHeader(HEADER_USER_ID) Long userId) {
         return bookingService.getById(bookingId, userId);
     }
-}
 
+    private static ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            response.header(HEADER_NEXT_CURSOR, BookingCursor.of(bookings.get(size - 1)).encode());
+        }
+        return response.body(bookings);
+    }
+}
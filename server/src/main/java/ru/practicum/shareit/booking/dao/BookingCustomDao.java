@@ -1,9 +1,27 @@
 package ru.practicum.shareit.booking.dao;
 
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.LastNextBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusType;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface BookingCustomDao {
     List<LastNextBookingDto> findLastNextBooking(List<Long> items);
+
+    Optional<List<Booking>> findAll(Long userId, boolean byOwner, StatusType state, int offset, int size);
+
+    Optional<List<Booking>> findAllAfter(Long userId, boolean byOwner, StatusType state, BookingCursor after,
+                                         int size);
+
+    Stream<Booking> streamAll(Long userId, boolean byOwner, StatusType state, int offset, int size);
+
+    int updateStatus(Collection<Long> ids, StatusType from, StatusType to);
+
+    Set<Long> updateStatusSkipping(Collection<Long> ids, StatusType from, StatusType to, String skippedSqlState);
 }
@@ -1,42 +1,223 @@
 package ru.practicum.shareit.booking.dao;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.LastNextBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusType;
+import ru.practicum.shareit.streaming.StreamWindows;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
 public class BookingCustomDaoImpl implements BookingCustomDao {
     private final NamedParameterJdbcTemplate jdbcTemplate;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public List<LastNextBookingDto> findLastNextBooking(List<Long> items) {
-        final String qs = "select a.itemId as itemId, " +
-                "abl.id as lastBookingId, abl.booker_id as lastBookingBookerId, " +
-                "abn.id as nextBookingId, abn.booker_id as nextBookingBookerId " +
-                "from (" +
-                "select it.id as itemId, " +
-                "coalesce((select lb.id from bookings lb where lb.item_id = it.id and (lb.end_date < now() " +
-                "or lb.end_date = now() or lb.start_date = now() or lb.start_date < now()) " +
-                "and lb.status = 'APPROVED' order by lb.end_date asc limit 1), 0) as lastBookingId, " +
-                "coalesce((select nb.id from bookings nb where nb.item_id = it.id and nb.start_date > now() " +
-                "and nb.status = 'APPROVED' order by nb.start_date desc limit 1), 0) as nextBookingId " +
-                "from items as it where it.id in (:items)" +
-                ") a " +
-                "left join bookings abl on abl.id = a.lastBookingId " +
-                "left join bookings abn on abn.id = a.nextBookingId";
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // One top-1 lookup per item: each subquery is a short descending or ascending range scan of
+        // idx_bookings_item_status_start, so the cost grows with the page, not with the booking history.
+        final String qs = "select it.id as itemId, " +
+                "lb.id as lastBookingId, lb.booker_id as lastBookingBookerId, " +
+                "nb.id as nextBookingId, nb.booker_id as nextBookingBookerId " +
+                "from items it " +
+                "left join bookings lb on lb.id = (" +
+                "select b.id from bookings b " +
+                "where b.item_id = it.id and b.status = 'APPROVED' and b.start_date <= :now " +
+                "order by b.start_date desc limit 1) " +
+                "left join bookings nb on nb.id = (" +
+                "select b.id from bookings b " +
+                "where b.item_id = it.id and b.status = 'APPROVED' and b.start_date > :now " +
+                "order by b.start_date asc limit 1) " +
+                "where it.id in (:items) and (lb.id is not null or nb.id is not null)";
         return jdbcTemplate.query(qs, new MapSqlParameterSource()
-                        .addValue("items", items),
+                        .addValue("items", items)
+                        .addValue("now", LocalDateTime.now()),
                 (rs, rowNum) -> mapRowToLastNextBookingDto(rs)
         );
     }
 
+    @Override
+    public Optional<List<Booking>> findAll(Long userId, boolean byOwner, StatusType state, int offset, int size) {
+        return toBookings(listQuery(userId, byOwner, state, null)
+                .setFirstResult(offset)
+                .setMaxResults(size)
+                .getResultList());
+    }
+
+    @Override
+    public Optional<List<Booking>> findAllAfter(Long userId, boolean byOwner, StatusType state, BookingCursor after,
+                                                int size) {
+        return toBookings(listQuery(userId, byOwner, state, after)
+                .setMaxResults(size)
+                .getResultList());
+    }
+
+    @Override
+    public Stream<Booking> streamAll(Long userId, boolean byOwner, StatusType state, int offset, int size) {
+        return listQuery(userId, byOwner, state, null)
+                .setHint("org.hibernate.fetchSize", StreamWindows.WINDOW)
+                .setFirstResult(offset)
+                .setMaxResults(size)
+                .getResultStream();
+    }
+
+    @Override
+    public int updateStatus(Collection<Long> ids, StatusType from, StatusType to) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Booking> update = cb.createCriteriaUpdate(Booking.class);
+        Root<Booking> booking = update.from(Booking.class);
+        Path<Long> version = booking.get("version");
+        update.set(booking.<StatusType>get("status"), to)
+                .set(version, cb.sum(version, 1L))
+                .where(booking.get("id").in(ids), cb.equal(booking.get("status"), from));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    // A violating row fails the whole statement, and on PostgreSQL the whole transaction. The batch and each
+    // retried row therefore run behind a savepoint, over JDBC because Hibernate marks the transaction
+    // rollback-only on a failed bulk update. Returns the ids whose update failed with skippedSqlState.
+    @Override
+    public Set<Long> updateStatusSkipping(Collection<Long> ids, StatusType from, StatusType to,
+                                          String skippedSqlState) {
+        entityManager.flush();
+        if (tryUpdateStatus(ids, from, to, skippedSqlState)) {
+            return Collections.emptySet();
+        }
+        Set<Long> skipped = new HashSet<>();
+        for (Long id : ids) {
+            if (!tryUpdateStatus(List.of(id), from, to, skippedSqlState)) {
+                skipped.add(id);
+            }
+        }
+        return skipped;
+    }
+
+    private boolean tryUpdateStatus(Collection<Long> ids, StatusType from, StatusType to, String skippedSqlState) {
+        JdbcOperations jdbcOperations = jdbcTemplate.getJdbcOperations();
+        Savepoint savepoint = jdbcOperations.execute((ConnectionCallback<Savepoint>) Connection::setSavepoint);
+        int updated;
+        try {
+            updated = jdbcTemplate.update("update bookings set status = :to, version = version + 1 "
+                    + "where id in (:ids) and status = :from", new MapSqlParameterSource()
+                    .addValue("ids", ids)
+                    .addValue("from", from.name())
+                    .addValue("to", to.name()));
+        } catch (DataIntegrityViolationException e) {
+            if (!(e.getCause() instanceof SQLException)
+                    || !skippedSqlState.equals(((SQLException) e.getCause()).getSQLState())) {
+                throw e;
+            }
+            jdbcOperations.execute((ConnectionCallback<Void>) connection -> {
+                connection.rollback(savepoint);
+                return null;
+            });
+            return false;
+        }
+        jdbcOperations.execute((ConnectionCallback<Void>) connection -> {
+            connection.releaseSavepoint(savepoint);
+            return null;
+        });
+        if (updated != ids.size()) {
+            throw new OptimisticLockingFailureException("Bookings were modified concurrently");
+        }
+        return true;
+    }
+
+    // The list is read from the user's row, outer-joined to the matching bookings, so the same round trip tells
+    // an unknown user (no row) from a user without matching bookings (one row without a booking). Criteria
+    // cannot join an unmapped entity, hence HQL.
+    private TypedQuery<Booking> listQuery(Long userId, boolean byOwner, StatusType state, BookingCursor after) {
+        StringBuilder on = new StringBuilder(byOwner
+                ? "b.item.id in (select it.id from Item it where it.owner.id = :userId)"
+                : "b.booker.id = :userId");
+        boolean timed = false;
+        switch (state) {
+            case ALL:
+                break;
+            case CURRENT:
+                on.append(" and b.start < :now and b.end > :now");
+                timed = true;
+                break;
+            case PAST:
+                on.append(" and b.end < :now");
+                timed = true;
+                break;
+            case FUTURE:
+                on.append(" and b.start > :now");
+                timed = true;
+                break;
+            case WAITING:
+            case REJECTED:
+                on.append(" and b.status = :status");
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported state: " + state);
+        }
+        if (after != null) {
+            on.append(" and (b.start < :afterStart or b.start = :afterStart and b.id < :afterId)");
+        }
+        TypedQuery<Booking> query = entityManager.createQuery("select b from User u "
+                        + "left join Booking b on " + on + " "
+                        + "left join fetch b.item "
+                        + "left join fetch b.booker "
+                        + "where u.id = :userId "
+                        + "order by b.start desc, b.id desc", Booking.class)
+                .setParameter("userId", userId);
+        if (timed) {
+            query.setParameter("now", LocalDateTime.now());
+        }
+        if (state == StatusType.WAITING || state == StatusType.REJECTED) {
+            query.setParameter("status", state);
+        }
+        if (after != null) {
+            query.setParameter("afterStart", after.getStart())
+                    .setParameter("afterId", after.getId());
+        }
+        return query;
+    }
+
+    private static Optional<List<Booking>> toBookings(List<Booking> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(rows.stream().filter(Objects::nonNull).collect(Collectors.toList()));
+    }
+
     private LastNextBookingDto mapRowToLastNextBookingDto(ResultSet rs) throws SQLException {
         return LastNextBookingDto
                 .builder()
@@ -1,15 +1,22 @@
 package ru.practicum.shareit.booking.dao;
 
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.StatusType;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingDao extends JpaRepository<Booking, Long>, BookingCustomDao {
+    @Override
+    @EntityGraph("Booking.list")
+    Optional<Booking> findById(Long id);
+
     Optional<Booking> findTopByItemIdAndEndBeforeAndStatusInOrderByEndDesc(Long itemId,
                                                                            LocalDateTime finishBefore,
                                                                            List<StatusType> statuses);
@@ -18,43 +25,14 @@ public interface BookingDao extends JpaRepository<Booking, Long>, BookingCustomD
                                                                              LocalDateTime startAfter,
                                                                              List<StatusType> statuses);
 
-    List<Booking> findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(Long bookerId, Long itemId,
-                                                                          StatusType status, LocalDateTime end);
-
-    List<Booking> findAllByBookerId(Long bookerId, PageRequest pageRequest);
-
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfter(Long bookerId,
-                                                             LocalDateTime start,
-                                                             LocalDateTime end,
-                                                             PageRequest pageRequest);
-
-    List<Booking> findAllByBookerIdAndEndBefore(Long bookerId, LocalDateTime end,
-                                                PageRequest pageRequest);
+    Slice<Booking> findAllByStatusAndEndAfter(StatusType status, LocalDateTime end, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStartAfter(Long bookerId,
-                                                 LocalDateTime start,
-                                                 PageRequest pageRequest);
+    List<Booking> findAllByBookerIdAndStatusAndEndAfter(Long bookerId, StatusType status, LocalDateTime end);
 
-    List<Booking> findAllByBookerIdAndStatusEquals(Long bookerId,
-                                                   StatusType status,
-                                                   PageRequest pageRequest);
+    List<Booking> findAllByItemOwnerIdAndStatusAndEndAfter(Long ownerId, StatusType status, LocalDateTime end);
 
-    List<Booking> findAllByItemOwnerId(Long ownerId, PageRequest pageRequest);
+    List<Booking> findAllByIdInAndItemOwnerId(Collection<Long> ids, Long ownerId);
 
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfter(Long ownerId,
-                                                                LocalDateTime start,
-                                                                LocalDateTime end,
-                                                                PageRequest pageRequest);
-
-    List<Booking> findAllByItemOwnerIdAndEndBefore(Long ownerId,
-                                                   LocalDateTime end,
-                                                   PageRequest pageRequest);
-
-    List<Booking> findAllByItemOwnerIdAndStartAfter(Long ownerId,
-                                                    LocalDateTime start,
-                                                    PageRequest pageRequest);
-
-    List<Booking> findAllByItemOwnerIdAndStatusEquals(Long ownerId,
-                                                      StatusType status,
-                                                      PageRequest pageRequest);
+    List<Booking> findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(Long bookerId, Long itemId,
+                                                                          StatusType status, LocalDateTime end);
 }
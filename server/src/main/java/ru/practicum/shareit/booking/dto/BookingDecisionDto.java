@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BookingDecisionDto {
+    private Long bookingId;
+
+    private Boolean approved;
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.model.StatusType;
+
+@Data
+@Builder
+public class BookingDecisionResultDto {
+    private Long bookingId;
+
+    private StatusType status;
+
+    private String error;
+}
@@ -1,14 +1,17 @@
 package ru.practicum.shareit.booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import ru.practicum.shareit.booking.model.StatusType;
+import ru.practicum.shareit.cache.Versioned;
 
 import java.time.LocalDateTime;
 
 @Data
 @Builder
-public class BookingDto {
+public class BookingDto implements Versioned {
     private Long id;
 
     private LocalDateTime start;
@@ -23,6 +26,10 @@ public class BookingDto {
 
     private Long bookerId;
 
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private String version;
+
     @Data
     @Builder
     public static class Booker {
@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.dto;
 
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusType;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 @UtilityClass
@@ -23,6 +24,16 @@ public class BookingMapper {
                 .status(booking.getStatus())
                 .item(bookedItem)
                 .bookerId(booking.getBooker().getId())
+                .version(booking.getVersion() + "." + booking.getItem().getVersion() + "."
+                        + booking.getBooker().getVersion())
+                .build();
+    }
+
+    public static BookingDecisionResultDto toDecisionResult(Long bookingId, StatusType status, String error) {
+        return BookingDecisionResultDto.builder()
+                .bookingId(bookingId)
+                .status(status)
+                .error(error)
                 .build();
     }
 
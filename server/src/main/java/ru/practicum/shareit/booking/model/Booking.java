@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.model;
 
 import lombok.*;
+import ru.practicum.shareit.cache.CacheInvalidationListener;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -9,6 +10,11 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bookings")
+@EntityListeners(CacheInvalidationListener.class)
+@NamedEntityGraph(name = "Booking.list", attributeNodes = {
+        @NamedAttributeNode("item"),
+        @NamedAttributeNode("booker")
+})
 @Getter
 @Setter
 @Builder
@@ -16,7 +22,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "start_date", nullable = false)
@@ -26,15 +33,18 @@ public class Booking {
     private LocalDateTime end;
 
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "item_id", referencedColumnName = "id", nullable = false)
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "booker_id", referencedColumnName = "id", nullable = false)
     private User booker;
 
     @Enumerated(value = EnumType.STRING)
     @Column(length = 10)
     private StatusType status;
+
+    @Version
+    private Long version;
 }
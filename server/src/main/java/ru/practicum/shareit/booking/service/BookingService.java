@@ -1,19 +1,35 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.model.StatusType;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingDto create(BookingRequestDto bookingRequestDto, Long userId);
 
+    List<BookingDto> createAll(List<BookingRequestDto> bookingRequestDtos, Long userId);
+
     BookingDto approve(Long bookingId, Long userId, Boolean approved);
 
+    List<BookingDecisionResultDto> approveAll(List<BookingDecisionDto> decisions, Long userId);
+
     List<BookingDto> getAllByOwner(Long userId, StatusType state, int from, int size);
 
     List<BookingDto> getAllByUser(Long userId, StatusType state, int from, int size);
 
+    void streamAllByOwner(Long userId, StatusType state, int from, int size, Consumer<BookingDto> sink);
+
+    void streamAllByUser(Long userId, StatusType state, int from, int size, Consumer<BookingDto> sink);
+
+    List<BookingDto> getAllByOwnerAfter(Long userId, StatusType state, BookingCursor after, int size);
+
+    List<BookingDto> getAllByUserAfter(Long userId, StatusType state, BookingCursor after, int size);
+
     BookingDto getById(Long itemId, Long userId);
 }
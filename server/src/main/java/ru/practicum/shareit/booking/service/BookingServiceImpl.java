@@ -1,26 +1,48 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
 import ru.practicum.shareit.booking.dao.BookingDao;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.StatusType;
+import ru.practicum.shareit.cache.CacheInvalidationListener;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.ModelNotFoundException;
+import ru.practicum.shareit.execution.OptimisticRetry;
 import ru.practicum.shareit.item.dao.ItemDao;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.streaming.StreamWindows;
 import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
-import java.time.LocalDateTime;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.model.StatusType.*;
@@ -28,11 +50,16 @@ import static ru.practicum.shareit.booking.model.StatusType.*;
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final BookingDao bookingRepository;
     private final UserService userService;
     private final UserDao userRepository;
     private final ItemDao itemRepository;
-    private final Sort sort = Sort.by(Sort.Direction.DESC, "start");
+    private final BookingAvailability bookingAvailability;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
     @Transactional
@@ -47,6 +74,7 @@ public class BookingServiceImpl implements BookingService {
         if (!item.getAvailable()) {
             throw new BadRequestException("User can book only available item");
         }
+        bookingAvailability.checkFree(item.getId(), bookingRequestDto.getStart(), bookingRequestDto.getEnd());
         Booking booking = BookingMapper.fromBookingShortDto(bookingRequestDto);
         booking.setBooker(user);
         booking.setItem(item);
@@ -58,6 +86,44 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional
+    public List<BookingDto> createAll(List<BookingRequestDto> bookingRequestDtos, Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ModelNotFoundException("User not found"));
+        Set<Long> itemIds = bookingRequestDtos.stream()
+                .map(BookingRequestDto::getItemId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Booking> bookings = bookingRequestDtos.stream()
+                .map(bookingRequestDto -> {
+                    Item item = items.get(bookingRequestDto.getItemId());
+                    if (item == null) {
+                        throw new ModelNotFoundException("Item not found");
+                    }
+                    if (item.getOwner().getId().equals(userId)) {
+                        throw new ModelNotFoundException("User can not book own item");
+                    }
+                    if (!item.getAvailable()) {
+                        throw new BadRequestException("User can book only available item");
+                    }
+                    bookingAvailability.checkFree(item.getId(), bookingRequestDto.getStart(),
+                            bookingRequestDto.getEnd());
+                    Booking booking = BookingMapper.fromBookingShortDto(bookingRequestDto);
+                    booking.setBooker(user);
+                    booking.setItem(item);
+                    booking.setStatus(WAITING);
+                    return booking;
+                })
+                .collect(Collectors.toList());
+
+        return bookingRepository.saveAll(bookings).stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    @OptimisticRetry("booking.approve")
     public BookingDto approve(Long bookingId, Long userId, Boolean approved) {
         userService.getById(userId);
         Booking booking = bookingRepository.findById(bookingId)
@@ -69,82 +135,123 @@ public class BookingServiceImpl implements BookingService {
             throw new BadRequestException("Only WAITING can be approved or rejected");
         }
         if (approved) {
+            bookingAvailability.reserve(booking);
             booking.setStatus(APPROVED);
         } else {
             booking.setStatus(REJECTED);
         }
+        try {
+            bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new ConflictException("Item is already booked for these dates");
+            }
+            throw e;
+        }
 
         return BookingMapper.toBookingDto(booking);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<BookingDto> getAllByOwner(Long userId, StatusType state, int from, int size) {
+    @Transactional
+    @OptimisticRetry("booking.approve-all")
+    public List<BookingDecisionResultDto> approveAll(List<BookingDecisionDto> decisions, Long userId) {
         userService.getById(userId);
-        final List<Booking> bookingDtoList;
-        PageRequest pageRequest = PageRequest.of(from / size, size, sort);
-        switch (state) {
-            case ALL:
-                bookingDtoList = bookingRepository.findAllByItemOwnerId(userId, pageRequest);
-                break;
-            case CURRENT:
-                bookingDtoList = bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfter(userId,
-                        LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-                break;
-            case PAST:
-                bookingDtoList = bookingRepository.findAllByItemOwnerIdAndEndBefore(userId,
-                        LocalDateTime.now(), pageRequest);
-                break;
-            case FUTURE:
-                bookingDtoList = bookingRepository.findAllByItemOwnerIdAndStartAfter(userId,
-                        LocalDateTime.now(), pageRequest);
-                break;
-            case WAITING:
-                bookingDtoList = bookingRepository.findAllByItemOwnerIdAndStatusEquals(userId, WAITING, pageRequest);
-                break;
-            case REJECTED:
-                bookingDtoList = bookingRepository.findAllByItemOwnerIdAndStatusEquals(userId, REJECTED, pageRequest);
-                break;
-            default:
-                throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
+        Set<Long> bookingIds = decisions.stream()
+                .map(BookingDecisionDto::getBookingId)
+                .collect(Collectors.toSet());
+        Map<Long, Booking> bookings = bookingRepository.findAllByIdInAndItemOwnerId(bookingIds, userId).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Map<StatusType, List<Booking>> changes = new EnumMap<>(StatusType.class);
+        Set<Long> decided = new HashSet<>();
+        List<BookingDecisionResultDto> results = new ArrayList<>();
+        Map<Long, Integer> resultIndexes = new HashMap<>();
+        for (BookingDecisionDto decision : decisions) {
+            Long bookingId = decision.getBookingId();
+            Booking booking = bookings.get(bookingId);
+            if (booking == null) {
+                results.add(BookingMapper.toDecisionResult(bookingId, null, "Booking not found"));
+                continue;
+            }
+            if (!booking.getStatus().equals(WAITING) || !decided.add(bookingId)) {
+                results.add(BookingMapper.toDecisionResult(bookingId, booking.getStatus(),
+                        "Only WAITING can be approved or rejected"));
+                continue;
+            }
+            StatusType status = Boolean.TRUE.equals(decision.getApproved()) ? APPROVED : REJECTED;
+            if (status == APPROVED) {
+                try {
+                    bookingAvailability.reserve(booking);
+                } catch (ConflictException e) {
+                    results.add(BookingMapper.toDecisionResult(bookingId, WAITING, e.getMessage()));
+                    continue;
+                }
+            }
+            changes.computeIfAbsent(status, key -> new ArrayList<>()).add(booking);
+            resultIndexes.put(bookingId, results.size());
+            results.add(BookingMapper.toDecisionResult(bookingId, status, null));
+        }
+        List<Booking> approved = changes.getOrDefault(APPROVED, List.of());
+        if (!approved.isEmpty()) {
+            Set<Long> overlapping = bookingRepository.updateStatusSkipping(
+                    approved.stream().map(Booking::getId).collect(Collectors.toList()),
+                    WAITING, APPROVED, EXCLUSION_VIOLATION);
+            for (Booking booking : approved) {
+                if (overlapping.contains(booking.getId())) {
+                    bookingAvailability.release(booking);
+                    results.set(resultIndexes.get(booking.getId()), BookingMapper.toDecisionResult(
+                            booking.getId(), WAITING, "Item is already booked for these dates"));
+                }
+            }
+            approved.removeIf(booking -> overlapping.contains(booking.getId()));
+            CacheInvalidationListener.invalidateAll(approved);
+        }
+        List<Booking> rejected = changes.getOrDefault(REJECTED, List.of());
+        if (!rejected.isEmpty()) {
+            List<Long> ids = rejected.stream().map(Booking::getId).collect(Collectors.toList());
+            if (bookingRepository.updateStatus(ids, WAITING, REJECTED) != ids.size()) {
+                throw new OptimisticLockingFailureException("Bookings were modified concurrently");
+            }
+            CacheInvalidationListener.invalidateAll(rejected);
         }
 
-        return bookingDtoList.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllByOwner(Long userId, StatusType state, int from, int size) {
+        return getAll(userId, true, state, from, size);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BookingDto> getAllByUser(Long userId, StatusType state, int from, int size) {
-        userService.getById(userId);
-        final List<Booking> bookingDtoList;
-        PageRequest pageRequest = PageRequest.of(from / size, size, sort);
-        switch (state) {
-            case ALL:
-                bookingDtoList = bookingRepository.findAllByBookerId(userId, pageRequest);
-                break;
-            case CURRENT:
-                bookingDtoList = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(userId,
-                        LocalDateTime.now(), LocalDateTime.now(), pageRequest);
-                break;
-            case PAST:
-                bookingDtoList = bookingRepository.findAllByBookerIdAndEndBefore(userId,
-                        LocalDateTime.now(), pageRequest);
-                break;
-            case FUTURE:
-                bookingDtoList = bookingRepository.findAllByBookerIdAndStartAfter(userId,
-                        LocalDateTime.now(), pageRequest);
-                break;
-            case WAITING:
-                bookingDtoList = bookingRepository.findAllByBookerIdAndStatusEquals(userId, WAITING, pageRequest);
-                break;
-            case REJECTED:
-                bookingDtoList = bookingRepository.findAllByBookerIdAndStatusEquals(userId, REJECTED, pageRequest);
-                break;
-            default:
-                throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
-        }
+        return getAll(userId, false, state, from, size);
+    }
 
-        return bookingDtoList.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllByOwnerAfter(Long userId, StatusType state, BookingCursor after, int size) {
+        return getAllAfter(userId, true, state, after, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllByUserAfter(Long userId, StatusType state, BookingCursor after, int size) {
+        return getAllAfter(userId, false, state, after, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllByOwner(Long userId, StatusType state, int from, int size, Consumer<BookingDto> sink) {
+        streamAll(userId, true, state, from, size, sink);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllByUser(Long userId, StatusType state, int from, int size, Consumer<BookingDto> sink) {
+        streamAll(userId, false, state, from, size, sink);
     }
 
     @Override
@@ -158,4 +265,81 @@ public class BookingServiceImpl implements BookingService {
 
         return BookingMapper.toBookingDto(booking);
     }
+
+    private List<BookingDto> getAll(Long userId, boolean byOwner, StatusType state, int from, int size) {
+        checkListState(state);
+
+        int offset = from / size * size;
+        return toBookingDtos(userId, offset, bookingRepository.findAll(userId, byOwner, state, offset, size));
+    }
+
+    private List<BookingDto> getAllAfter(Long userId, boolean byOwner, StatusType state, BookingCursor after, int size) {
+        checkListState(state);
+
+        return toBookingDtos(userId, 0, bookingRepository.findAllAfter(userId, byOwner, state, after, size));
+    }
+
+    private List<BookingDto> toBookingDtos(Long userId, int offset, Optional<List<Booking>> bookings) {
+        if (bookings.isEmpty()) {
+            checkUserPagedPast(userId, offset);
+            return Collections.emptyList();
+        }
+
+        return bookings.get().stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    private void streamAll(Long userId, boolean byOwner, StatusType state, int from, int size,
+                           Consumer<BookingDto> sink) {
+        checkListState(state);
+
+        int offset = from / size * size;
+        AtomicBoolean found = new AtomicBoolean();
+        StreamWindows.forEach(bookingRepository.streamAll(userId, byOwner, state, offset, size),
+                window -> {
+                    found.set(true);
+                    window.stream()
+                            .filter(Objects::nonNull)
+                            .map(BookingMapper::toBookingDto)
+                            .forEach(sink);
+                    entityManager.clear();
+                });
+        if (!found.get()) {
+            checkUserPagedPast(userId, offset);
+        }
+    }
+
+    // The list query returns no rows for an unknown user, but also when the page starts past the user's last
+    // booking; only the latter needs a separate lookup.
+    private void checkUserPagedPast(Long userId, int offset) {
+        if (offset == 0) {
+            throw new ModelNotFoundException("User not found");
+        }
+        userService.getById(userId);
+    }
+
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException
+                    && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void checkListState(StatusType state) {
+        switch (state) {
+            case ALL:
+            case CURRENT:
+            case PAST:
+            case FUTURE:
+            case WAITING:
+            case REJECTED:
+                break;
+            default:
+                throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.cache;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class CacheInvalidationListener {
+    public static final String HEADER = "X-Cache-Invalidate";
+
+    private static final String TAGS_ATTRIBUTE = CacheInvalidationListener.class.getName() + ".tags";
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Object entity) {
+        publish(entity);
+    }
+
+    public static void invalidateAll(Collection<?> entities) {
+        entities.forEach(CacheInvalidationListener::publish);
+    }
+
+    private static void publish(Object entity) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes)) {
+            return;
+        }
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> tags = (Set<String>) attributes.getAttribute(TAGS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (tags == null) {
+            tags = new TreeSet<>();
+            attributes.setAttribute(TAGS_ATTRIBUTE, tags, RequestAttributes.SCOPE_REQUEST);
+        }
+        if (tags.addAll(tagsOf(entity))) {
+            response.setHeader(HEADER, String.join(",", tags));
+        }
+    }
+
+    private static Set<String> tagsOf(Object entity) {
+        if (entity instanceof Booking) {
+            return Set.of("item:" + ((Booking) entity).getItem().getId());
+        }
+        if (entity instanceof Comment) {
+            return Set.of("item:" + ((Comment) entity).getItem().getId());
+        }
+        if (entity instanceof Item) {
+            return ((Item) entity).getRequest() != null ? Set.of("items", "requests") : Set.of("items");
+        }
+        if (entity instanceof ItemRequest) {
+            return Set.of("requests");
+        }
+        if (entity instanceof User) {
+            return Set.of("users", "items", "requests");
+        }
+        return Set.of();
+    }
+}
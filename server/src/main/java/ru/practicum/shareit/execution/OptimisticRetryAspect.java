@@ -0,0 +1,73 @@
+package ru.practicum.shareit.execution;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class OptimisticRetryAspect {
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${shareit.optimistic-retry.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${shareit.optimistic-retry.backoff:10ms}")
+    private Duration backoff;
+
+    @Value("${shareit.optimistic-retry.max-backoff:200ms}")
+    private Duration maxBackoff;
+
+    @Around("@annotation(optimisticRetry)")
+    public Object retry(ProceedingJoinPoint joinPoint, OptimisticRetry optimisticRetry) throws Throwable {
+        String operation = optimisticRetry.value();
+        long delay = backoff.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    count(operation, "exhausted");
+                    log.warn("{} gave up after {} optimistic lock conflicts", operation, attempt);
+                    throw e;
+                }
+                count(operation, "retried");
+                sleep(ThreadLocalRandom.current().nextLong(delay + 1), e);
+                delay = Math.min(delay * 2, maxBackoff.toMillis());
+            }
+        }
+    }
+
+    private void count(String operation, String outcome) {
+        meterRegistry.ifAvailable(registry -> Counter.builder("shareit.optimistic-lock.conflicts")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment());
+    }
+
+    private static void sleep(long millis, OptimisticLockingFailureException e) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.execution;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.threads.mode", havingValue = "virtual")
+public class VirtualThreadConfig implements DisposableBean {
+    // Not a bean of its own: an Executor bean would replace Boot's applicationTaskExecutor.
+    private final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadExecutorCustomizer() {
+        return protocolHandler -> {
+            if (executor != null) {
+                protocolHandler.setExecutor(executor);
+            }
+        };
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            log.info("Serving requests on virtual threads");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads are not available on Java {}, serving requests on the platform thread pool",
+                    Runtime.version().feature());
+            return null;
+        }
+    }
+}
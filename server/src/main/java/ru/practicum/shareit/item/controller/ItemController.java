@@ -1,12 +1,17 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemInDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.streaming.JsonLines;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -14,6 +19,7 @@ import java.util.List;
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
     private static final String HEADER_USER_ID = "X-Sharer-User-Id";
 
     @GetMapping
@@ -23,6 +29,14 @@ public class ItemController {
         return itemService.getByOwner(ownerId, from, size);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllByOwner(@RequestHeader(HEADER_USER_ID) Long ownerId,
+                                 @RequestParam(defaultValue = "0") int from,
+                                 @RequestParam(defaultValue = "10") int size,
+                                 HttpServletResponse response) throws IOException {
+        JsonLines.<ItemDto>write(objectMapper, response, sink -> itemService.streamByOwner(ownerId, from, size, sink));
+    }
+
     @GetMapping("{itemId}")
     public ItemDto getById(@RequestHeader(HEADER_USER_ID) Long ownerId,
                            @PathVariable Long itemId) {
@@ -42,6 +56,12 @@ public class ItemController {
         return itemService.create(itemDto, userId);
     }
 
+    @PostMapping("/batch")
+    public List<ItemDto> createAll(@RequestHeader(HEADER_USER_ID) Long userId,
+                                   @RequestBody List<ItemInDto> itemDtos) {
+        return itemService.createAll(itemDtos, userId);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestHeader(HEADER_USER_ID) Long userId,
                           @PathVariable Long itemId,
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.dao;
 
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
@@ -8,7 +9,9 @@ import ru.practicum.shareit.item.model.Item;
 import java.util.List;
 
 public interface CommentDao extends JpaRepository<Comment, Long> {
+    @EntityGraph("Comment.card")
     List<Comment> findAllByItemId(Long itemId);
 
+    @EntityGraph("Comment.card")
     List<Comment> findAllByItemIn(List<Item> items, Sort sort);
 }
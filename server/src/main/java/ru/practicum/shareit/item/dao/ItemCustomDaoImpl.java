@@ -30,6 +30,11 @@ public class ItemCustomDaoImpl implements ItemCustomDao {
                         cb.equal(item.get("available"), true)
                 )
         );
-        return entityManager.createQuery(criteria).getResultList();
+        criteria.orderBy(cb.asc(item.get("id")));
+        return entityManager.createQuery(criteria)
+                .setHint("javax.persistence.fetchgraph", entityManager.getEntityGraph("Item.card"))
+                .setFirstResult((int) pageRequest.getOffset())
+                .setMaxResults(pageRequest.getPageSize())
+                .getResultList();
     }
 }
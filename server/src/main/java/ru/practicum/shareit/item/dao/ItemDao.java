@@ -1,16 +1,37 @@
 package ru.practicum.shareit.item.dao;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ItemDao extends JpaRepository<Item, Long>, ItemCustomDao {
+    @Override
+    @EntityGraph("Item.card")
+    Optional<Item> findById(Long id);
+
+    @EntityGraph("Item.card")
+    List<Item> findAllByIdIn(Collection<Long> ids);
+
+    @EntityGraph("Item.card")
     List<Item> findAllByOwnerIdOrderById(Long ownerId, PageRequest pageRequest);
 
+    @EntityGraph("Item.card")
+    Stream<Item> streamAllByOwnerIdOrderById(Long ownerId, Pageable pageable);
+
+    @EntityGraph("Item.requestFeed")
     List<Item> findAllByRequestId(Long requestId);
 
+    @EntityGraph("Item.requestFeed")
     List<Item> findAllByRequestIn(List<ItemRequest> itemRequests);
+
+    Slice<Item> findAllByAvailableTrue(Pageable pageable);
 }
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.dao;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+@Repository
+@Profile("!ci & !test")
+public class TrigramItemCustomDao implements ItemCustomDao {
+    private static final String SEARCH_QUERY = "select i.* from items i " +
+            "where i.is_available " +
+            "and (i.name ilike :pattern or i.description ilike :pattern) " +
+            "order by greatest(similarity(i.name, :text), similarity(i.description, :text)) desc, i.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Item> findAllByCriteria(String text, PageRequest pageRequest) {
+        return entityManager.createNativeQuery(SEARCH_QUERY, Item.class)
+                .setParameter("pattern", "%" + escapeLike(text) + "%")
+                .setParameter("text", text)
+                .setFirstResult((int) pageRequest.getOffset())
+                .setMaxResults(pageRequest.getPageSize())
+                .getResultList();
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -1,13 +1,16 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import ru.practicum.shareit.cache.Versioned;
 
 import java.util.List;
 
 @Data
 @Builder
-public class ItemDto {
+public class ItemDto implements Versioned {
     private Long id;
 
     private String name;
@@ -26,6 +29,10 @@ public class ItemDto {
 
     private List<CommentDto> comments;
 
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private String version;
+
     @Data
     @Builder
     public static class OwnerTiny {
@@ -24,6 +24,7 @@ public class ItemMapper {
                 .requestId(requestId)
                 .owner(owner)
                 .comments(new ArrayList<>())
+                .version(item.getVersion() + "." + item.getOwner().getVersion())
                 .build();
     }
 
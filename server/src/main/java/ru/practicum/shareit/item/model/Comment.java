@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.model;
 
 import lombok.*;
+import ru.practicum.shareit.cache.CacheInvalidationListener;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
@@ -8,6 +9,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "comments")
+@EntityListeners(CacheInvalidationListener.class)
+@NamedEntityGraph(name = "Comment.card", attributeNodes = @NamedAttributeNode("author"))
 @Getter
 @Setter
 @Builder
@@ -15,17 +18,18 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 1024, nullable = false)
     private String text;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", referencedColumnName = "id", nullable = false)
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", referencedColumnName = "id", nullable = false)
     private User author;
 
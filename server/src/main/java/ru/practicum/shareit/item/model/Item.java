@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.model;
 
 import lombok.*;
+import ru.practicum.shareit.cache.CacheInvalidationListener;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -8,6 +9,12 @@ import javax.persistence.*;
 
 @Entity
 @Table(name = "items")
+@EntityListeners(CacheInvalidationListener.class)
+@NamedEntityGraph(name = "Item.card", attributeNodes = @NamedAttributeNode("owner"))
+@NamedEntityGraph(name = "Item.requestFeed", attributeNodes = {
+        @NamedAttributeNode("owner"),
+        @NamedAttributeNode("request")
+})
 @Getter
 @Setter
 @Builder
@@ -15,7 +22,8 @@ import javax.persistence.*;
 @AllArgsConstructor
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 1024, nullable = false)
@@ -27,11 +35,14 @@ public class Item {
     @Column(name = "is_available")
     private Boolean available;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "id", nullable = false)
     private User owner;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id", referencedColumnName = "id")
     private ItemRequest request;
+
+    @Version
+    private Long version;
 }
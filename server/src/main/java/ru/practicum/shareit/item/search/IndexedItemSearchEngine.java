@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index", matchIfMissing = true)
+public class IndexedItemSearchEngine implements ItemSearchEngine, SmartInitializingSingleton {
+    private static final int BATCH_SIZE = 1000;
+
+    private final ItemDao itemRepository;
+    private final ItemSearchIndex searchIndex = new ItemSearchIndex();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        searchIndex.clear();
+        Slice<Item> slice = itemRepository.findAllByAvailableTrue(PageRequest.of(0, BATCH_SIZE, Sort.by("id")));
+        searchIndex.indexAll(slice);
+        while (slice.hasNext()) {
+            slice = itemRepository.findAllByAvailableTrue(slice.nextPageable());
+            searchIndex.indexAll(slice);
+        }
+        log.info("Item search index rebuilt, {} items indexed", searchIndex.size());
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        List<Long> ids = searchIndex.search(text, from, size);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Item> items = itemRepository.findAllByIdIn(ids).stream()
+                .collect(toMap(Item::getId, Function.identity()));
+
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(toList());
+    }
+
+    @Override
+    public void index(Item item) {
+        searchIndex.index(item);
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        searchIndex.remove(itemId);
+    }
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+public class ItemSearchIndex {
+    private static final Pattern DELIMITER = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int NAME_WEIGHT = 4;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_TERM_FACTOR = 2;
+
+    private final ConcurrentNavigableMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Set<String>> itemTerms = new ConcurrentHashMap<>();
+
+    public void index(Item item) {
+        Long id = item.getId();
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            remove(id);
+            return;
+        }
+        Map<String, Integer> terms = terms(item);
+        afterCommit(() -> put(id, terms));
+    }
+
+    public void remove(Long itemId) {
+        afterCommit(() -> delete(itemId));
+    }
+
+    public synchronized void indexAll(Iterable<Item> items) {
+        for (Item item : items) {
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                put(item.getId(), terms(item));
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        itemTerms.clear();
+    }
+
+    public int size() {
+        return itemTerms.size();
+    }
+
+    public List<Long> search(String text, int from, int size) {
+        List<String> queryTerms = tokenize(text).distinct().collect(toList());
+        if (queryTerms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Integer> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Long, Integer> termScores = match(queryTerm);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .skip(from)
+                .limit(size)
+                .map(Map.Entry::getKey)
+                .collect(toList());
+    }
+
+    private Map<Long, Integer> match(String queryTerm) {
+        Map<Long, Integer> scores = new HashMap<>();
+        postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, true)
+                .forEach((term, items) -> {
+                    int factor = term.equals(queryTerm) ? EXACT_TERM_FACTOR : 1;
+                    items.forEach((id, weight) -> scores.merge(id, weight * factor, Math::max));
+                });
+        return scores;
+    }
+
+    private static Map<String, Integer> terms(Item item) {
+        Map<String, Integer> terms = new HashMap<>();
+        tokenize(item.getName()).forEach(term -> terms.merge(term, NAME_WEIGHT, Integer::sum));
+        tokenize(item.getDescription()).forEach(term -> terms.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        return terms;
+    }
+
+    private synchronized void put(Long itemId, Map<String, Integer> terms) {
+        delete(itemId);
+        terms.forEach((term, weight) -> postings
+                .computeIfAbsent(term, key -> new ConcurrentHashMap<>())
+                .put(itemId, weight));
+        itemTerms.put(itemId, terms.keySet());
+    }
+
+    private synchronized void delete(Long itemId) {
+        Set<String> terms = itemTerms.remove(itemId);
+        if (terms == null) {
+            return;
+        }
+        terms.forEach(term -> postings.computeIfPresent(term, (key, items) -> {
+            items.remove(itemId);
+            return items.isEmpty() ? null : items;
+        }));
+    }
+
+    private static Stream<String> tokenize(String text) {
+        if (text == null) {
+            return Stream.empty();
+        }
+        return DELIMITER.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(term -> !term.isEmpty());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
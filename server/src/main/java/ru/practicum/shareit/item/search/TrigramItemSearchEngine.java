@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dao.TrigramItemCustomDao;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database")
+@Profile("!ci & !test")
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+    private final TrigramItemCustomDao trigramItemDao;
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return trigramItemDao.findAllByCriteria(text, PageRequest.of(from / size, size));
+    }
+}
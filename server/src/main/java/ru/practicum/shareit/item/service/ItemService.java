@@ -5,16 +5,21 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemInDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
     List<ItemDto> getByOwner(Long ownerId, int from, int size);
 
+    void streamByOwner(Long ownerId, int from, int size, Consumer<ItemDto> sink);
+
     ItemDto getById(Long itemId, Long ownerId);
 
     List<ItemDto> search(String searchText, int from, int size);
 
     ItemDto create(ItemInDto itemDto, Long userId);
 
+    List<ItemDto> createAll(List<ItemInDto> itemDtos, Long userId);
+
     ItemDto update(ItemInDto itemDto, Long itemId, Long userId);
 
     ItemDto delete(Long itemId, Long userId);
@@ -6,6 +6,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
 import ru.practicum.shareit.booking.dao.BookingDao;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.LastNextBookingDto;
@@ -19,20 +20,30 @@ import ru.practicum.shareit.item.dao.ItemDao;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.dao.ItemRequestDao;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.streaming.StreamWindows;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import static org.springframework.data.domain.Sort.Direction.DESC;
 import static ru.practicum.shareit.booking.model.StatusType.APPROVED;
 
@@ -46,42 +57,48 @@ public class ItemServiceImpl implements ItemService {
     private final CommentDao commentRepository;
     private final UserService userService;
     private final BookingDao bookingRepository;
+    private final ItemSearchEngine searchEngine;
+    private final BookingAvailability bookingAvailability;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
     @Transactional(readOnly = true)
     public List<ItemDto> getByOwner(Long ownerId, int from, int size) {
-        List<Item> itemList = itemRepository.findAllByOwnerIdOrderById(ownerId, PageRequest.of(from, size));
+        return toOwnerItemDtos(itemRepository.findAllByOwnerIdOrderById(ownerId, PageRequest.of(from, size)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamByOwner(Long ownerId, int from, int size, Consumer<ItemDto> sink) {
+        StreamWindows.forEach(itemRepository.streamAllByOwnerIdOrderById(ownerId, PageRequest.of(from, size)),
+                window -> {
+                    toOwnerItemDtos(window).forEach(sink);
+                    entityManager.clear();
+                });
+    }
+
+    private List<ItemDto> toOwnerItemDtos(List<Item> itemList) {
         List<Long> items = itemList.stream().map(Item::getId).collect(toList());
-        List<LastNextBookingDto> findLastNextBooking = bookingRepository.findLastNextBooking(items);
+        Map<Long, LastNextBookingDto> lastNextBookings = bookingRepository.findLastNextBooking(items).stream()
+                .collect(toMap(LastNextBookingDto::getItemId, Function.identity(), (first, second) -> first));
 
-        Map<Item, List<Comment>> comments = commentRepository.findAllByItemIn(itemList,
-                Sort.by(DESC, "created")).stream().collect(groupingBy(Comment::getItem, toList()));
+        Map<Long, List<Comment>> comments = commentRepository.findAllByItemIn(itemList, Sort.by(DESC, "created"))
+                .stream().collect(groupingBy(comment -> comment.getItem().getId(), toList()));
 
         return itemList.stream().map(item -> {
             ItemDto itemDto = ItemMapper.toItemDto(item);
 
-            List<LastNextBookingDto> lastNextBookingsDto = findLastNextBooking.stream()
-                    .filter(o -> o.getItemId().equals(itemDto.getId()))
-                    .collect(toList());
-
-            if (lastNextBookingsDto.isEmpty()) {
-                throw new ModelNotFoundException("Empty booking");
+            LastNextBookingDto lastNextBookingDto = lastNextBookings.get(item.getId());
+            if (lastNextBookingDto != null) {
+                itemDto.setLastBooking(toBookingTiny(lastNextBookingDto.getLastBookingId(),
+                        lastNextBookingDto.getLastBookingBookerId()));
+                itemDto.setNextBooking(toBookingTiny(lastNextBookingDto.getNextBookingId(),
+                        lastNextBookingDto.getNextBookingBookerId()));
             }
 
-            LastNextBookingDto lastNextBookingDto = lastNextBookingsDto.get(0);
-
-            ItemDto.BookingTiny lastBooking = ItemDto.BookingTiny.builder()
-                    .id(lastNextBookingDto.getLastBookingId())
-                    .bookerId(lastNextBookingDto.getLastBookingBookerId()).build();
-
-            ItemDto.BookingTiny nextBooking = ItemDto.BookingTiny.builder()
-                    .id(lastNextBookingDto.getNextBookingId())
-                    .bookerId(lastNextBookingDto.getNextBookingBookerId()).build();
-
-            itemDto.setLastBooking(lastBooking.getId() == 0 ? null : lastBooking);
-            itemDto.setNextBooking(nextBooking.getId() == 0 ? null : nextBooking);
-
-            List<Comment> commentList = comments.getOrDefault(item, Collections.emptyList());
+            List<Comment> commentList = comments.getOrDefault(item.getId(), Collections.emptyList());
             itemDto.setComments(commentList.stream().map(CommentMapper::toCommentDto).collect(toList()));
             return itemDto;
         }).collect(toList());
@@ -93,8 +110,12 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ModelNotFoundException("Item not found"));
         ItemDto itemDto = ItemMapper.toItemDto(item);
-        itemDto.setComments(commentRepository.findAllByItemId(itemId).stream()
+        List<Comment> comments = commentRepository.findAllByItemId(itemId);
+        itemDto.setComments(comments.stream()
                 .map(CommentMapper::toCommentDto).collect(toList()));
+        StringBuilder version = new StringBuilder(itemDto.getVersion());
+        comments.forEach(comment -> version.append(".c").append(comment.getId())
+                .append(':').append(comment.getAuthor().getVersion()));
         if (item.getOwner().getId().equals(ownerId)) {
             Booking lastBooking =
                     bookingRepository.findTopByItemIdAndEndBeforeAndStatusInOrderByEndDesc(itemId,
@@ -104,7 +125,10 @@ public class ItemServiceImpl implements ItemService {
                             LocalDateTime.now(), List.of(StatusType.APPROVED)).orElse(null);
             itemDto.setLastBooking(lastBooking == null ? null : BookingMapper.toBookingTiny(lastBooking));
             itemDto.setNextBooking(nextBooking == null ? null : BookingMapper.toBookingTiny(nextBooking));
+            version.append(".b").append(lastBooking == null ? null : lastBooking.getId())
+                    .append(':').append(nextBooking == null ? null : nextBooking.getId());
         }
+        itemDto.setVersion(version.toString());
 
         return itemDto;
     }
@@ -112,7 +136,7 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional(readOnly = true)
     public List<ItemDto> search(String searchedText, int from, int size) {
-        List<Item> allItems = itemRepository.findAllByCriteria(searchedText, PageRequest.of(from, size));
+        List<Item> allItems = searchEngine.search(searchedText, from, size);
         return allItems.stream()
                 .map(ItemMapper::toItemDto)
                 .collect(toList());
@@ -128,8 +152,39 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new ModelNotFoundException("ItemRequest not found"));
         item.setOwner(owner);
         item.setRequest(itemRequest);
+        Item saved = itemRepository.save(item);
+        searchEngine.index(saved);
 
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        return ItemMapper.toItemDto(saved);
+    }
+
+    @Override
+    @Transactional
+    public List<ItemDto> createAll(List<ItemInDto> itemDtos, Long ownerId) {
+        User owner = UserMapper.toUser(userService.getById(ownerId));
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemInDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(toSet());
+        Map<Long, ItemRequest> itemRequests = itemRequestRepository.findAllById(requestIds).stream()
+                .collect(toMap(ItemRequest::getId, Function.identity()));
+        if (itemRequests.size() != requestIds.size()) {
+            throw new ModelNotFoundException("ItemRequest not found");
+        }
+        List<Item> items = itemDtos.stream()
+                .map(itemDto -> {
+                    Item item = ItemMapper.fromItemRequestDto(itemDto);
+                    item.setOwner(owner);
+                    item.setRequest(itemDto.getRequestId() == null ? null : itemRequests.get(itemDto.getRequestId()));
+                    return item;
+                })
+                .collect(toList());
+        List<Item> saved = itemRepository.saveAll(items);
+        saved.forEach(searchEngine::index);
+
+        return saved.stream()
+                .map(ItemMapper::toItemDto)
+                .collect(toList());
     }
 
     @Override
@@ -147,6 +202,7 @@ public class ItemServiceImpl implements ItemService {
             item.setDescription(itemDto.getDescription());
         }
         Optional.ofNullable(itemDto.getAvailable()).ifPresent(item::setAvailable);
+        searchEngine.index(item);
 
         return ItemMapper.toItemDto(item);
     }
@@ -156,6 +212,8 @@ public class ItemServiceImpl implements ItemService {
     public ItemDto delete(Long itemId, Long userId) {
         ItemDto itemDto = getById(itemId, userId);
         itemRepository.deleteById(itemId);
+        searchEngine.remove(itemId);
+        bookingAvailability.releaseItem(itemId);
         return itemDto;
     }
 
@@ -186,4 +244,14 @@ public class ItemServiceImpl implements ItemService {
                 .map(ItemMapper::toItemDto)
                 .collect(toList());
     }
+
+    private static ItemDto.BookingTiny toBookingTiny(Long bookingId, Long bookerId) {
+        if (bookingId == null || bookingId == 0) {
+            return null;
+        }
+        return ItemDto.BookingTiny.builder()
+                .id(bookingId)
+                .bookerId(bookerId)
+                .build();
+    }
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class MonitoringConfig implements WebMvcConfigurer {
+    private final SqlStatisticsInterceptor sqlStatisticsInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlStatisticsInterceptor);
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.monitoring;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+@RestControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+    static final String HEADER_SERVER_TIMING = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        // The header has to be written before the body, so it misses statements run while serializing it.
+        // Clients that accept trailers get the complete figures from SqlStatisticsInterceptor instead.
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null && !response.getHeaders().containsKey(HttpHeaders.TRAILER)) {
+            response.getHeaders().add(HEADER_SERVER_TIMING, value(statistics));
+        }
+        return body;
+    }
+
+    static String value(SqlStatistics statistics) {
+        return String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d statements, %d rows\"",
+                statistics.getMillis(), statistics.getStatements(), statistics.getRows());
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.Getter;
+
+@Getter
+public class SqlStatistics {
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void finish() {
+        CURRENT.remove();
+    }
+
+    void statementExecuted(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+    }
+
+    void rowFetched() {
+        rows++;
+    }
+
+    public double getMillis() {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqlStatisticsInterceptor implements HandlerInterceptor {
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${shareit.sql.statement-budget:10}")
+    private int statementBudget;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatistics statistics = SqlStatistics.start();
+        if (acceptsTrailers(request)) {
+            try {
+                response.setTrailerFields(() -> Map.of(ServerTimingAdvice.HEADER_SERVER_TIMING,
+                        ServerTimingAdvice.value(statistics)));
+                response.setHeader(HttpHeaders.TRAILER, ServerTimingAdvice.HEADER_SERVER_TIMING);
+            } catch (IllegalStateException e) {
+                log.debug("Trailers are not available for {} {}", request.getMethod(), request.getRequestURI());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        SqlStatistics statistics = SqlStatistics.current();
+        SqlStatistics.finish();
+        if (statistics == null) {
+            return;
+        }
+        meterRegistry.ifAvailable(registry -> record(registry, Tags.of("handler", handlerName(handler)),
+                statistics));
+        if (statistics.getStatements() > statementBudget) {
+            log.warn("{} {} executed {} SQL statements (budget {}), fetched {} rows in {} ms",
+                    request.getMethod(), request.getRequestURI(), statistics.getStatements(), statementBudget,
+                    statistics.getRows(), statistics.getMillis());
+        }
+    }
+
+    private static void record(MeterRegistry registry, Tags tags, SqlStatistics statistics) {
+        DistributionSummary.builder("shareit.sql.statements")
+                .tags(tags)
+                .register(registry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder("shareit.sql.rows")
+                .tags(tags)
+                .register(registry)
+                .record(statistics.getRows());
+        Timer.builder("shareit.sql.time")
+                .tags(tags)
+                .register(registry)
+                .record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static boolean acceptsTrailers(HttpServletRequest request) {
+        String te = request.getHeader("TE");
+        return te != null && te.toLowerCase(Locale.ROOT).contains("trailers");
+    }
+
+    private static String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+        return handler.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class StatementCountingDataSource extends DelegatingDataSource {
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection(), StatementCountingDataSource::connectionCall);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password),
+                StatementCountingDataSource::connectionCall);
+    }
+
+    private static Object connectionCall(Object target, Method method, Object[] args) throws Throwable {
+        Object result = invoke(target, method, args);
+        if (result instanceof CallableStatement) {
+            return proxy(CallableStatement.class, result, StatementCountingDataSource::statementCall);
+        }
+        if (result instanceof PreparedStatement) {
+            return proxy(PreparedStatement.class, result, StatementCountingDataSource::statementCall);
+        }
+        if (result instanceof Statement) {
+            return proxy(Statement.class, result, StatementCountingDataSource::statementCall);
+        }
+        return result;
+    }
+
+    private static Object statementCall(Object target, Method method, Object[] args) throws Throwable {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics == null) {
+            return invoke(target, method, args);
+        }
+        Object result;
+        if (method.getName().startsWith("execute")) {
+            long start = System.nanoTime();
+            try {
+                result = invoke(target, method, args);
+            } finally {
+                statistics.statementExecuted(System.nanoTime() - start);
+            }
+        } else {
+            result = invoke(target, method, args);
+        }
+        if (result instanceof ResultSet) {
+            return proxy(ResultSet.class, result, StatementCountingDataSource::resultSetCall);
+        }
+        return result;
+    }
+
+    private static Object resultSetCall(Object target, Method method, Object[] args) throws Throwable {
+        Object result = invoke(target, method, args);
+        if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+            SqlStatistics statistics = SqlStatistics.current();
+            if (statistics != null) {
+                statistics.rowFetched();
+            }
+        }
+        return result;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, Call call) {
+        InvocationHandler handler = (proxy, method, args) -> call.invoke(target, method, args);
+        return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
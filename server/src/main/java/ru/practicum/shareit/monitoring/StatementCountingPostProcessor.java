@@ -0,0 +1,17 @@
+package ru.practicum.shareit.monitoring;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+public class StatementCountingPostProcessor implements BeanPostProcessor {
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof StatementCountingDataSource)) {
+            return new StatementCountingDataSource((DataSource) bean);
+        }
+        return bean;
+    }
+}
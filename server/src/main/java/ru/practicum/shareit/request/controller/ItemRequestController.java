@@ -1,11 +1,16 @@
 package ru.practicum.shareit.request.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.streaming.JsonLines;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -14,6 +19,7 @@ import java.util.List;
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
     private final ItemRequestService itemRequestService;
+    private final ObjectMapper objectMapper;
     private static final String HEADER_USER_ID = "X-Sharer-User-Id";
 
     @PostMapping
@@ -35,6 +41,15 @@ public class ItemRequestController {
         return itemRequestService.getAll(from, size, userId);
     }
 
+    @GetMapping(path = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAll(@RequestParam(defaultValue = "0") int from,
+                          @RequestParam(defaultValue = "10") int size,
+                          @RequestHeader(HEADER_USER_ID) Long userId,
+                          HttpServletResponse response) throws IOException {
+        JsonLines.<ItemRequestDto>write(objectMapper, response,
+                sink -> itemRequestService.streamAll(from, size, userId, sink));
+    }
+
     @GetMapping("/{requestId}")
     public ItemRequestDto getById(@PathVariable Long requestId,
                                   @RequestHeader(HEADER_USER_ID) Long userId) {
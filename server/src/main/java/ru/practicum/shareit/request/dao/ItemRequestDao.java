@@ -5,10 +5,13 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ItemRequestDao extends JpaRepository<ItemRequest, Long> {
 
     List<ItemRequest> findAllByRequestorIdOrderByCreatedAsc(Long userId);
 
     List<ItemRequest> findAllByRequestorIdIsNotOrderByCreatedAsc(Long userId, Pageable pageable);
+
+    Stream<ItemRequest> streamAllByRequestorIdIsNotOrderByCreatedAsc(Long userId, Pageable pageable);
 }
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.request.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import ru.practicum.shareit.cache.Versioned;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.time.LocalDateTime;
@@ -9,7 +12,7 @@ import java.util.List;
 
 @Data
 @Builder
-public class ItemRequestDto {
+public class ItemRequestDto implements Versioned {
     private Long id;
 
     private String description;
@@ -17,4 +20,8 @@ public class ItemRequestDto {
     private LocalDateTime created;
 
     private List<ItemDto> items;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private String version;
 }
@@ -22,6 +22,7 @@ public class ItemRequestMapper {
                 .description(itemRequest.getDescription())
                 .created(itemRequest.getCreated())
                 .items(new ArrayList<>())
+                .version(String.valueOf(itemRequest.getVersion()))
                 .build();
     }
 }
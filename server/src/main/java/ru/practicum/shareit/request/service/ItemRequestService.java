@@ -3,6 +3,7 @@ package ru.practicum.shareit.request.service;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemRequestService {
     ItemRequestDto create(Long userId, ItemRequestDto itemRequestDto);
@@ -11,5 +12,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAll(int from, int size, Long userId);
 
+    void streamAll(int from, int size, Long userId, Consumer<ItemRequestDto> sink);
+
     ItemRequestDto getById(Long requestId, Long userId);
 }
@@ -13,16 +13,21 @@ import ru.practicum.shareit.request.dao.ItemRequestDao;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.streaming.StreamWindows;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static ru.practicum.shareit.request.dto.ItemRequestMapper.fromItemRequestDto;
 import static ru.practicum.shareit.request.dto.ItemRequestMapper.toItemRequestDto;
@@ -35,6 +40,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemDao itemRepository;
     private final ItemRequestDao itemRequestRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Transactional
     @Override
     public ItemRequestDto create(Long userId, ItemRequestDto itemRequestDto) {
@@ -67,6 +75,17 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return getItemRequestDtoList(itemRequestList);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public void streamAll(int from, int size, Long userId, Consumer<ItemRequestDto> sink) {
+        userService.getById(userId);
+        StreamWindows.forEach(itemRequestRepository
+                .streamAllByRequestorIdIsNotOrderByCreatedAsc(userId, PageRequest.of(from, size)), window -> {
+                    getItemRequestDtoList(window).forEach(sink);
+                    entityManager.clear();
+                });
+    }
+
     @Transactional(readOnly = true)
     @Override
     public ItemRequestDto getById(Long requestId, Long userId) {
@@ -76,17 +95,20 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .orElseThrow(() -> new ModelNotFoundException("ItemRequest not found"));
         ItemRequestDto itemRequestDto = toItemRequestDto(itemRequest);
         itemRequestDto.setItems(itemService.findAllByRequestId(itemRequestDto.getId()));
+        itemRequestDto.setVersion(itemRequestDto.getItems().stream()
+                .map(itemDto -> ".i" + itemDto.getId() + ":" + itemDto.getVersion())
+                .collect(joining("", itemRequestDto.getVersion(), "")));
 
         return itemRequestDto;
     }
 
     private List<ItemRequestDto> getItemRequestDtoList(List<ItemRequest> itemRequestList) {
-        Map<ItemRequest, List<Item>> items = itemRepository.findAllByRequestIn(itemRequestList)
-                .stream().collect(groupingBy(Item::getRequest, toList()));
+        Map<Long, List<Item>> items = itemRepository.findAllByRequestIn(itemRequestList)
+                .stream().collect(groupingBy(item -> item.getRequest().getId(), toList()));
 
         return itemRequestList.stream().map(itemRequest -> {
             ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
-            List<Item> itemList = items.get(itemRequest);
+            List<Item> itemList = items.get(itemRequest.getId());
             itemRequestDto.setItems(itemList == null ? Collections.emptyList() : itemList
                     .stream().map(ItemMapper::toItemDto).collect(toList()));
 
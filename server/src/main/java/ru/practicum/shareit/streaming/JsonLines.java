@@ -0,0 +1,44 @@
+package ru.practicum.shareit.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.experimental.UtilityClass;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+@UtilityClass
+public class JsonLines {
+    public static <T> void write(ObjectMapper objectMapper, HttpServletResponse response,
+                                 Consumer<Consumer<T>> producer) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        AtomicBoolean empty = new AtomicBoolean(true);
+        try {
+            producer.accept(value -> {
+                try {
+                    generator.writeObject(value);
+                    empty.set(false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw e;
+        }
+        if (!empty.get()) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
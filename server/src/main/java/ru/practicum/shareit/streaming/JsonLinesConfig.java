@@ -0,0 +1,21 @@
+package ru.practicum.shareit.streaming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class JsonLinesConfig implements WebMvcConfigurer {
+    private final ObjectMapper objectMapper;
+
+    // Only errors are rendered as NDJSON by a converter; endpoints without an NDJSON variant answer 406.
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new JsonLinesErrorConverter(objectMapper));
+    }
+}
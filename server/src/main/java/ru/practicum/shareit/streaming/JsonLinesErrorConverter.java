@@ -0,0 +1,45 @@
+package ru.practicum.shareit.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import ru.practicum.shareit.exceptions.ErrorResponse;
+
+import java.io.IOException;
+
+public class JsonLinesErrorConverter extends AbstractHttpMessageConverter<ErrorResponse> {
+    private final ObjectMapper objectMapper;
+
+    public JsonLinesErrorConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_NDJSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ErrorResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ErrorResponse readInternal(Class<? extends ErrorResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Errors are not read as NDJSON", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ErrorResponse error, HttpOutputMessage outputMessage) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputMessage.getBody())
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeObject(error);
+        generator.writeRaw('\n');
+        generator.close();
+    }
+}
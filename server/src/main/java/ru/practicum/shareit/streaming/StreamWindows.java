@@ -0,0 +1,28 @@
+package ru.practicum.shareit.streaming;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@UtilityClass
+public class StreamWindows {
+    public static final int WINDOW = 50;
+
+    public static <T> void forEach(Stream<T> stream, Consumer<List<T>> action) {
+        try (stream) {
+            Iterator<T> iterator = stream.iterator();
+            List<T> window = new ArrayList<>(WINDOW);
+            while (iterator.hasNext()) {
+                window.add(iterator.next());
+                if (window.size() == WINDOW || !iterator.hasNext()) {
+                    action.accept(window);
+                    window = new ArrayList<>(WINDOW);
+                }
+            }
+        }
+    }
+}
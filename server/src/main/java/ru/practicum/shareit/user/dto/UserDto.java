@@ -1,14 +1,21 @@
 package ru.practicum.shareit.user.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import ru.practicum.shareit.cache.Versioned;
 
 @Data
 @Builder
-public class UserDto {
+public class UserDto implements Versioned {
     private Long id;
 
     private String name;
 
     private String email;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
 }
@@ -13,6 +13,7 @@ public class UserMapper {
                 .id(user.getId())
                 .name(user.getName())
                 .email(user.getEmail())
+                .version(user.getVersion())
                 .build();
     }
 
@@ -21,6 +22,7 @@ public class UserMapper {
                 .id(userDto.getId())
                 .name(userDto.getName())
                 .email(userDto.getEmail())
+                .version(userDto.getVersion())
                 .build();
     }
 
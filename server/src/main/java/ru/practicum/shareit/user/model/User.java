@@ -1,11 +1,13 @@
 package ru.practicum.shareit.user.model;
 
 import lombok.*;
+import ru.practicum.shareit.cache.CacheInvalidationListener;
 
 import javax.persistence.*;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(CacheInvalidationListener.class)
 @Getter
 @Setter
 @Builder
@@ -13,7 +15,8 @@ import javax.persistence.*;
 @AllArgsConstructor
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 1024, nullable = false)
@@ -21,4 +24,7 @@ public class User {
 
     @Column(unique = true, length = 1024, nullable = false)
     private String email;
+
+    @Version
+    private Long version;
 }
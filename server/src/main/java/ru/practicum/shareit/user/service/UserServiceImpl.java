@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
 import ru.practicum.shareit.exceptions.ModelNotFoundException;
 import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -16,6 +17,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserDao userRepository;
+    private final BookingAvailability bookingAvailability;
 
     @Override
     @Transactional(readOnly = true)
@@ -59,6 +61,7 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public UserDto delete(Long id) {
         UserDto userDto = getById(id);
+        bookingAvailability.releaseUser(id);
         userRepository.deleteById(id);
 
         return userDto;
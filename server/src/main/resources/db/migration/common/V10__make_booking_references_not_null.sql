@@ -0,0 +1,2 @@
+ALTER TABLE bookings ALTER COLUMN item_id SET NOT NULL;
+ALTER TABLE bookings ALTER COLUMN booker_id SET NOT NULL;
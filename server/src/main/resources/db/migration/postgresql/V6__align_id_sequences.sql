@@ -0,0 +1,9 @@
+SELECT setval('users_seq', coalesce(max(id), 0) + 1, false) FROM users;
+
+SELECT setval('requests_seq', coalesce(max(id), 0) + 1, false) FROM requests;
+
+SELECT setval('items_seq', coalesce(max(id), 0) + 1, false) FROM items;
+
+SELECT setval('comments_seq', coalesce(max(id), 0) + 1, false) FROM comments;
+
+SELECT setval('bookings_seq', coalesce(max(id), 0) + 1, false) FROM bookings;
@@ -0,0 +1,13 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO
+$$
+    BEGIN
+        IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_bookings_approved_overlap') THEN
+            ALTER TABLE bookings
+                ADD CONSTRAINT ex_bookings_approved_overlap
+                    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+                    WHERE (status = 'APPROVED');
+        END IF;
+    END
+$$;
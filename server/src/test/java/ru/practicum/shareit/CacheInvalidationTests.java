@@ -0,0 +1,59 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.cache.CacheInvalidationListener;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+class CacheInvalidationTests {
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void mutationsPublishInvalidationTagsTest() throws Exception {
+        String user = mvc.perform(post("/users")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"name\",\"email\":\"invalidation@email.com\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CacheInvalidationListener.HEADER, "items,requests,users"))
+                .andReturn().getResponse().getContentAsString();
+        long userId = Long.parseLong(user.replaceAll(".*\"id\":(\\d+).*", "$1"));
+
+        mvc.perform(post("/items")
+                        .header("X-Sharer-User-Id", userId)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"name\",\"description\":\"description\",\"available\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("name"))
+                .andExpect(header().string(CacheInvalidationListener.HEADER, "items"));
+
+        mvc.perform(patch("/users/" + userId)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"updated\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CacheInvalidationListener.HEADER, "items,requests,users"));
+
+        mvc.perform(get("/users/" + userId))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CacheInvalidationListener.HEADER));
+    }
+}
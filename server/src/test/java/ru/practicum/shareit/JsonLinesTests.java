@@ -0,0 +1,88 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+class JsonLinesTests {
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void itemsByOwnerAsJsonLinesTest() throws Exception {
+        String user = mvc.perform(post("/users")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"name\",\"email\":\"lines@email.com\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long userId = Long.parseLong(user.replaceAll(".*\"id\":(\\d+).*", "$1"));
+
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(post("/items")
+                            .header("X-Sharer-User-Id", userId)
+                            .characterEncoding(StandardCharsets.UTF_8)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"item" + i + "\",\"description\":\"description\",\"available\":true}"))
+                    .andExpect(status().isOk());
+        }
+
+        String lines = mvc.perform(get("/items?from=0&size=10")
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] rows = lines.trim().split("\n");
+        assertThat(rows.length, equalTo(3));
+        for (int i = 0; i < rows.length; i++) {
+            assertThat(rows[i], startsWith("{\"id\":"));
+        }
+
+        mvc.perform(get("/items?from=0&size=10")
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(3)));
+
+        mvc.perform(get("/bookings?from=0&size=10")
+                        .header("X-Sharer-User-Id", 999)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void endpointWithoutJsonLinesVariantNotAcceptableTest() throws Exception {
+        mvc.perform(get("/items/search?text=item&from=0&size=10")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isNotAcceptable());
+
+        mvc.perform(get("/items/search?text=item&from=0&size=10")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
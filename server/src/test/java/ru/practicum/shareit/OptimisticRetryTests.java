@@ -0,0 +1,77 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.execution.OptimisticRetry;
+import ru.practicum.shareit.execution.OptimisticRetryAspect;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OptimisticRetryTests {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Decision target = new Decision();
+
+    private Decision decision;
+
+    @BeforeEach
+    void init() {
+        OptimisticRetryAspect aspect = new OptimisticRetryAspect(
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry))
+                        .getBeanProvider(MeterRegistry.class));
+        ReflectionTestUtils.setField(aspect, "maxAttempts", 3);
+        ReflectionTestUtils.setField(aspect, "backoff", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(aspect, "maxBackoff", Duration.ofMillis(2));
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addAspect(aspect);
+        decision = proxyFactory.getProxy();
+    }
+
+    @Test
+    void retriesUntilSuccessTest() {
+        target.conflicts.set(2);
+
+        assertThat(decision.decide(), equalTo("decided"));
+        assertThat(target.attempts.get(), equalTo(3));
+        assertThat(meterRegistry.get("shareit.optimistic-lock.conflicts").tag("outcome", "retried")
+                .counter().count(), equalTo(2.0));
+    }
+
+    @Test
+    void givesUpAfterMaxAttemptsTest() {
+        target.conflicts.set(5);
+
+        assertThrows(OptimisticLockingFailureException.class, decision::decide);
+        assertThat(target.attempts.get(), equalTo(3));
+        assertThat(meterRegistry.get("shareit.optimistic-lock.conflicts").tag("outcome", "exhausted")
+                .counter().count(), equalTo(1.0));
+    }
+
+    static class Decision {
+        private final AtomicInteger conflicts = new AtomicInteger();
+
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        @OptimisticRetry("test.decide")
+        public String decide() {
+            attempts.incrementAndGet();
+            if (conflicts.getAndDecrement() > 0) {
+                throw new OptimisticLockingFailureException("stale");
+            }
+            return "decided";
+        }
+    }
+}
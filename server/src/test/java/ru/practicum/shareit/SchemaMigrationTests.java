@@ -0,0 +1,63 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.dao.UserDao;
+import ru.practicum.shareit.user.model.User;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class SchemaMigrationTests {
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserDao userRepository;
+
+    @Test
+    void repeatedMigrationKeepsDataTest() {
+        jdbcTemplate.update("insert into users (name, email) values ('name', 'migration@email.com')");
+
+        int executed = flyway.migrate().migrationsExecuted;
+
+        assertThat(executed, equalTo(0));
+        assertThat(flyway.info().pending().length, equalTo(0));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users where email = 'migration@email.com'",
+                Integer.class), equalTo(1));
+    }
+
+    @Test
+    void plainInsertDrawsIdFromSequenceTest() {
+        jdbcTemplate.update("insert into users (name, email) values ('name', 'plain@email.com')");
+        Long plainId = jdbcTemplate.queryForObject("select id from users where email = 'plain@email.com'",
+                Long.class);
+
+        User user = userRepository.saveAndFlush(User.builder().name("name").email("pooled@email.com").build());
+
+        assertThat(user.getId(), not(equalTo(plainId)));
+    }
+
+    @Test
+    void bookingWithoutItemIsRejectedTest() {
+        jdbcTemplate.update("insert into users (name, email) values ('name', 'booker@email.com')");
+        Long bookerId = jdbcTemplate.queryForObject("select id from users where email = 'booker@email.com'",
+                Long.class);
+
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update("insert into bookings "
+                + "(start_date, end_date, booker_id, status) values (localtimestamp, localtimestamp, ?, 'WAITING')",
+                bookerId));
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.not;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext
+class ServerTimingTrailerTests {
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void serverTimingSentAsTrailerTest() throws IOException {
+        String response = get("/users", "TE: trailers\r\n");
+        int bodyStart = response.indexOf("\r\n\r\n");
+        String headers = response.substring(0, bodyStart);
+        String trailers = response.substring(response.lastIndexOf("\r\n0\r\n") + 5);
+
+        assertThat(headers, containsString("Trailer: Server-Timing"));
+        assertThat(headers, not(containsString("Server-Timing: db")));
+        assertThat(trailers, matchesPattern(
+                "(?s)Server-Timing: db;dur=\\d+\\.\\d{3};desc=\"1 statements, 0 rows\"\r\n.*"));
+    }
+
+    @Test
+    void serverTimingSentAsHeaderWithoutTrailersTest() throws IOException {
+        String response = get("/users", "");
+
+        assertThat(response, not(containsString("Trailer:")));
+        assertThat(response, containsString("Server-Timing: db;dur="));
+    }
+
+    private String get(String path, String extraHeaders) throws IOException {
+        try (Socket socket = new Socket("localhost", port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET " + path + " HTTP/1.1\r\nHost: localhost\r\nAccept: application/json\r\n"
+                    + extraHeaders + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            return new String(socket.getInputStream().readAllBytes(), StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+class SqlStatisticsTests {
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void requestStatisticsTest() throws Exception {
+        mvc.perform(post("/users")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"name\",\"email\":\"statistics@email.com\"}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/users")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing",
+                        matchesPattern("db;dur=\\d+\\.\\d{3};desc=\"1 statements, 1 rows\"")));
+
+        DistributionSummary statements = meterRegistry.get("shareit.sql.statements")
+                .tag("handler", "UserController#getAll")
+                .summary();
+        DistributionSummary rows = meterRegistry.get("shareit.sql.rows")
+                .tag("handler", "UserController#getAll")
+                .summary();
+        assertThat(statements.count(), equalTo(1L));
+        assertThat(statements.totalAmount(), equalTo(1.0));
+        assertThat(rows.totalAmount(), equalTo(1.0));
+        assertThat(meterRegistry.get("shareit.sql.time").tag("handler", "UserController#getAll").timer().count(),
+                equalTo(1L));
+    }
+}
@@ -0,0 +1,177 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dao.BookingDao;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusType;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dao.CommentDao;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.dto.ItemInDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.monitoring.SqlStatistics;
+import ru.practicum.shareit.request.controller.ItemRequestController;
+import ru.practicum.shareit.request.dao.ItemRequestDao;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dao.UserDao;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext
+class StatementCountTests {
+    @Autowired
+    private BookingController bookingController;
+
+    @Autowired
+    private ItemController itemController;
+
+    @Autowired
+    private ItemRequestController itemRequestController;
+
+    @Autowired
+    private UserDao userRepository;
+
+    @Autowired
+    private ItemRequestDao itemRequestRepository;
+
+    @Autowired
+    private ItemDao itemRepository;
+
+    @Autowired
+    private BookingDao bookingRepository;
+
+    @Autowired
+    private CommentDao commentRepository;
+
+    private SqlStatistics statistics;
+
+    private User owner;
+
+    private User booker;
+
+    private User requestor;
+
+    private Item item;
+
+    private ItemRequest itemRequest;
+
+    private Booking booking;
+
+    @BeforeAll
+    void init() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@email.com").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@email.com").build());
+        requestor = userRepository.save(User.builder().name("requestor").email("requestor@email.com").build());
+        itemRequest = itemRequestRepository.save(ItemRequest.builder().description("request")
+                .requestor(requestor).created(LocalDateTime.now()).build());
+
+        List<ItemInDto> itemDtos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            itemDtos.add(ItemInDto.builder().name("item" + i).description("description" + i).available(true)
+                    .requestId(itemRequest.getId()).build());
+        }
+        List<Item> items = itemController.createAll(owner.getId(), itemDtos).stream()
+                .map(itemDto -> itemRepository.findById(itemDto.getId()).orElseThrow())
+                .collect(Collectors.toList());
+        item = items.get(0);
+
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Item bookedItem : items) {
+            bookings.add(Booking.builder().start(now.minusDays(3)).end(now.minusDays(2)).item(bookedItem)
+                    .booker(booker).status(StatusType.APPROVED).build());
+            bookings.add(Booking.builder().start(now.plusDays(2)).end(now.plusDays(3)).item(bookedItem)
+                    .booker(booker).status(StatusType.WAITING).build());
+            comments.add(Comment.builder().text("comment").item(bookedItem).author(booker)
+                    .created(now.minusDays(1)).build());
+        }
+        booking = bookingRepository.saveAll(bookings).get(0);
+        commentRepository.saveAll(comments);
+    }
+
+    @BeforeEach
+    void startStatistics() {
+        statistics = SqlStatistics.start();
+    }
+
+    @AfterEach
+    void finishStatistics() {
+        SqlStatistics.finish();
+    }
+
+    @Test
+    void bookingListByUserTest() {
+        assertThat(bookingController.getAllByUser(booker.getId(), "ALL", 0, 20).size(), equalTo(10));
+        assertThat(statistics.getStatements(), lessThanOrEqualTo(1));
+    }
+
+    @Test
+    void bookingListByOwnerTest() {
+        assertThat(bookingController.getAllByOwner(owner.getId(), "ALL", 0, 20).size(), equalTo(10));
+        assertThat(statistics.getStatements(), lessThanOrEqualTo(1));
+    }
+
+    @Test
+    void bookingListAfterCursorTest() {
+        assertThat(bookingController.getAllByUserAfter(booker.getId(), "ALL", "", 20).getBody().size(),
+                equalTo(10));
+        assertThat(statistics.getStatements(), lessThanOrEqualTo(1));
+    }
+
+    @Test
+    void bookingCardTest() {
+        bookingController.getById(booking.getId(), booker.getId());
+        assertThat(statistics.getStatements(), lessThanOrEqualTo(1));
+    }
+
+    @Test
+    void itemCardTest() {
+        assertThat(itemController.getById(owner.getId(), item.getId()).getComments().size(), equalTo(1));
+        assertThat(statistics.getStatements(), lessThanOrEqualTo(4));
+    }
+
+    @Test
+    void itemListByOwnerTest() {
+        assertThat(itemController.getAllByOwner(owner.getId(), 0, 10).size(), equalTo(5));
+        assertThat(statistics.getStatements(), lessThanOrEqualTo(3));
+    }
+
+    @Test
+    void itemSearchTest() {
+        assertThat(itemController.search("item", 0, 10).size(), equalTo(5));
+        assertThat(statistics.getStatements(), lessThanOrEqualTo(1));
+    }
+
+    @Test
+    void requestFeedTest() {
+        assertThat(itemRequestController.getAll(0, 10, booker.getId()).get(0).getItems().size(), equalTo(5));
+        assertThat(statistics.getStatements(), lessThanOrEqualTo(3));
+    }
+
+    @Test
+    void requestCardTest() {
+        assertThat(itemRequestController.getById(itemRequest.getId(), requestor.getId()).getItems().size(),
+                equalTo(5));
+        assertThat(statistics.getStatements(), lessThanOrEqualTo(3));
+    }
+}
@@ -0,0 +1,150 @@
+package ru.practicum.shareit.bookingtests;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dao.BookingDao;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.StatusType;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ConflictException;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserDao;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+@Slf4j
+@SpringBootTest
+@DirtiesContext
+class BookingContentionTests {
+    private static final int APPROVALS = 2000;
+
+    private static final int DECISIONS = 200;
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserDao userRepository;
+
+    @Autowired
+    private ItemDao itemRepository;
+
+    @Autowired
+    private BookingDao bookingRepository;
+
+    @Test
+    void concurrentApprovalsOfSameSlotTest() throws Exception {
+        User owner = userRepository.save(User.builder().name("owner").email("contention-owner@email.com").build());
+        User booker = userRepository.save(User.builder().name("booker").email("contention-booker@email.com").build());
+        Item item = itemRepository.save(Item.builder().name("item").description("description").available(true)
+                .owner(owner).build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < APPROVALS; i++) {
+            bookings.add(Booking.builder().start(start.plusMinutes(i % 60)).end(start.plusDays(1)).item(item)
+                    .booker(booker).status(StatusType.WAITING).build());
+        }
+        bookings = bookingRepository.saveAll(bookings);
+
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Booking booking : bookings) {
+            futures.add(executor.submit(() -> {
+                ready.await();
+                try {
+                    bookingService.approve(booking.getId(), owner.getId(), true);
+                    approved.incrementAndGet();
+                } catch (ConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        long started = System.nanoTime();
+        ready.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        executor.shutdown();
+        log.info("{} concurrent approvals on {} threads in {} s, {} approvals/s", APPROVALS, THREADS,
+                String.format("%.3f", seconds), String.format("%.0f", APPROVALS / seconds));
+
+        assertThat(approved.get(), equalTo(1));
+        assertThat(conflicts.get(), equalTo(APPROVALS - 1));
+        assertThat(bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(item.getId()))
+                .filter(booking -> booking.getStatus() == StatusType.APPROVED)
+                .count(), equalTo(1L));
+    }
+
+    @Test
+    void concurrentApproveAndRejectTest() throws Exception {
+        User owner = userRepository.save(User.builder().name("owner").email("race-owner@email.com").build());
+        User booker = userRepository.save(User.builder().name("booker").email("race-booker@email.com").build());
+        Item item = itemRepository.save(Item.builder().name("item").description("description").available(true)
+                .owner(owner).build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < DECISIONS; i++) {
+            bookings.add(Booking.builder().start(start.plusDays(i)).end(start.plusDays(i).plusHours(1)).item(item)
+                    .booker(booker).status(StatusType.WAITING).build());
+        }
+        bookings = bookingRepository.saveAll(bookings);
+
+        Map<Long, StatusType> decided = new ConcurrentHashMap<>();
+        AtomicInteger refused = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Booking booking : bookings) {
+            for (boolean approved : new boolean[]{true, false}) {
+                futures.add(executor.submit(() -> {
+                    ready.await();
+                    try {
+                        StatusType status = bookingService.approve(booking.getId(), owner.getId(), approved)
+                                .getStatus();
+                        assertThat(decided.put(booking.getId(), status), nullValue());
+                    } catch (BadRequestException | ConflictException e) {
+                        refused.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+        ready.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(decided.size(), equalTo(DECISIONS));
+        assertThat(refused.get(), equalTo(DECISIONS));
+        bookingRepository.findAllById(decided.keySet())
+                .forEach(booking -> assertThat(booking.getStatus(), equalTo(decided.get(booking.getId()))));
+    }
+}
@@ -3,9 +3,13 @@ package ru.practicum.shareit.bookingtests;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.h2.api.Trigger;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.exceptions.BadRequestException;
@@ -16,11 +20,17 @@ import ru.practicum.shareit.item.dto.ItemInDto;
 import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static ru.practicum.shareit.booking.model.StatusType.APPROVED;
+import static ru.practicum.shareit.booking.model.StatusType.REJECTED;
 import static ru.practicum.shareit.booking.model.StatusType.WAITING;
 
 @SpringBootTest
@@ -35,6 +45,9 @@ public class BookingControllerTests {
     @Autowired
     private ItemController itemController;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private ItemInDto itemInDto;
 
     private UserDto userDto;
@@ -80,6 +93,30 @@ public class BookingControllerTests {
         assertEquals(1L, bookingController.getById(booking.getId(), user1.getId()).getId());
     }
 
+    @Test
+    void createAllTest() {
+        UserDto user = userController.create(userDto);
+        ItemDto item = itemController.create(user.getId(), itemInDto);
+        UserDto user1 = userController.create(userDto1);
+        BookingRequestDto secondBookingInDto = BookingRequestDto
+                .builder()
+                .start(bookingInDto.getEnd().plusDays(1))
+                .end(bookingInDto.getEnd().plusDays(2))
+                .itemId(item.getId()).build();
+        List<BookingDto> bookings = bookingController.createAll(List.of(bookingInDto, secondBookingInDto),
+                user1.getId());
+        assertEquals(2, bookings.size());
+        assertEquals(WAITING, bookingController.getById(bookings.get(1).getId(), user1.getId()).getStatus());
+    }
+
+    @Test
+    void createAllByOwnerTest() {
+        UserDto user = userController.create(userDto);
+        itemController.create(user.getId(), itemInDto);
+        assertThrows(ModelNotFoundException.class,
+                () -> bookingController.createAll(List.of(bookingInDto), user.getId()));
+    }
+
     @Test
     void createByWrongUserTest() {
         assertThrows(ModelNotFoundException.class, () -> bookingController.create(bookingInDto, 1L));
@@ -146,6 +183,83 @@ public class BookingControllerTests {
         assertThrows(BadRequestException.class, () -> bookingController.approve(1L, 1L, true));
     }
 
+    @Test
+    void approveAllTest() {
+        UserDto user = userController.create(userDto);
+        ItemDto item = itemController.create(user.getId(), itemInDto);
+        UserDto user1 = userController.create(userDto1);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDto> bookings = bookingController.createAll(List.of(
+                BookingRequestDto.builder().start(start).end(start.plusDays(2)).itemId(item.getId()).build(),
+                BookingRequestDto.builder().start(start.plusDays(3)).end(start.plusDays(4))
+                        .itemId(item.getId()).build(),
+                BookingRequestDto.builder().start(start.plusDays(1)).end(start.plusDays(3))
+                        .itemId(item.getId()).build()), user1.getId());
+
+        List<BookingDecisionResultDto> results = bookingController.approveAll(List.of(
+                BookingDecisionDto.builder().bookingId(bookings.get(0).getId()).approved(true).build(),
+                BookingDecisionDto.builder().bookingId(bookings.get(1).getId()).approved(false).build(),
+                BookingDecisionDto.builder().bookingId(bookings.get(2).getId()).approved(true).build(),
+                BookingDecisionDto.builder().bookingId(bookings.get(0).getId()).approved(false).build(),
+                BookingDecisionDto.builder().bookingId(999L).approved(true).build()), user.getId());
+
+        assertEquals(5, results.size());
+        assertEquals(APPROVED, results.get(0).getStatus());
+        assertEquals(REJECTED, results.get(1).getStatus());
+        assertNotNull(results.get(2).getError());
+        assertNotNull(results.get(3).getError());
+        assertNotNull(results.get(4).getError());
+        assertEquals(APPROVED, bookingController.getById(bookings.get(0).getId(), user1.getId()).getStatus());
+        assertEquals(REJECTED, bookingController.getById(bookings.get(1).getId(), user1.getId()).getStatus());
+        assertEquals(WAITING, bookingController.getById(bookings.get(2).getId(), user1.getId()).getStatus());
+    }
+
+    @Test
+    void approveAllSkipsBookingRejectedByExclusionConstraintTest() {
+        UserDto user = userController.create(userDto);
+        ItemDto item = itemController.create(user.getId(), itemInDto);
+        UserDto user1 = userController.create(userDto1);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDto> bookings = bookingController.createAll(List.of(
+                BookingRequestDto.builder().start(start).end(start.plusDays(1)).itemId(item.getId()).build(),
+                BookingRequestDto.builder().start(start.plusDays(2)).end(start.plusDays(3))
+                        .itemId(item.getId()).build(),
+                BookingRequestDto.builder().start(start.plusDays(4)).end(start.plusDays(5))
+                        .itemId(item.getId()).build()), user1.getId());
+        OverlapTrigger.rejectedBookingId = bookings.get(1).getId();
+        jdbcTemplate.execute("create trigger bookings_overlap before update on bookings for each row call '"
+                + OverlapTrigger.class.getName() + "'");
+
+        List<BookingDecisionResultDto> results = bookingController.approveAll(bookings.stream()
+                .map(booking -> BookingDecisionDto.builder().bookingId(booking.getId()).approved(true).build())
+                .collect(Collectors.toList()), user.getId());
+
+        assertEquals(APPROVED, results.get(0).getStatus());
+        assertEquals(WAITING, results.get(1).getStatus());
+        assertNotNull(results.get(1).getError());
+        assertEquals(APPROVED, results.get(2).getStatus());
+        assertEquals(APPROVED, bookingController.getById(bookings.get(0).getId(), user1.getId()).getStatus());
+        assertEquals(WAITING, bookingController.getById(bookings.get(1).getId(), user1.getId()).getStatus());
+        assertEquals(APPROVED, bookingController.getById(bookings.get(2).getId(), user1.getId()).getStatus());
+        bookingController.create(BookingRequestDto.builder().start(start.plusDays(2)).end(start.plusDays(3))
+                .itemId(item.getId()).build(), user1.getId());
+    }
+
+    @Test
+    void approveAllByWrongUserTest() {
+        UserDto user = userController.create(userDto);
+        ItemDto item = itemController.create(user.getId(), itemInDto);
+        UserDto user1 = userController.create(userDto1);
+        BookingDto booking = bookingController.create(BookingRequestDto.builder().start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2)).itemId(item.getId()).build(), user1.getId());
+
+        List<BookingDecisionResultDto> results = bookingController.approveAll(List.of(
+                BookingDecisionDto.builder().bookingId(booking.getId()).approved(true).build()), user1.getId());
+
+        assertEquals("Booking not found", results.get(0).getError());
+        assertEquals(WAITING, bookingController.getById(booking.getId(), user1.getId()).getStatus());
+    }
+
     @Test
     void getAllByUserTest() {
         UserDto user = userController.create(userDto);
@@ -186,4 +300,16 @@ public class BookingControllerTests {
         BookingDto booking = bookingController.create(bookingInDto, user1.getId());
         assertThrows(ModelNotFoundException.class, () -> bookingController.getById(1L, 10L));
     }
+
+    // Stands in for the PostgreSQL overlap exclusion constraint, which H2 does not have.
+    public static class OverlapTrigger implements Trigger {
+        static volatile Long rejectedBookingId;
+
+        @Override
+        public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+            if (newRow[0].equals(rejectedBookingId) && "APPROVED".equals(newRow[5])) {
+                throw new SQLException("Booking overlaps an approved booking", "23P01");
+            }
+        }
+    }
 }
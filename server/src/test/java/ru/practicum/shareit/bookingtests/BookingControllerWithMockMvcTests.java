@@ -9,6 +9,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.model.StatusType;
@@ -25,6 +26,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.booking.model.StatusType.APPROVED;
 
@@ -136,6 +138,45 @@ public class BookingControllerWithMockMvcTests {
                 .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
     }
 
+    @Test
+    void getAllByUserAfterTest() throws Exception {
+        BookingCursor cursor = BookingCursor.of(bookingDto);
+        when(bookingService.getAllByUserAfter(anyLong(), any(StatusType.class), eq(cursor), eq(1)))
+                .thenReturn(List.of(bookingDto));
+        mvc.perform(get("/bookings?after=" + cursor.encode() + "&size=1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 2L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", cursor.encode()))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
+    }
+
+    @Test
+    void getAllByOwnerAfterWithoutNextPageTest() throws Exception {
+        when(bookingService.getAllByOwnerAfter(anyLong(), any(StatusType.class), isNull(), eq(10)))
+                .thenReturn(List.of(bookingDto));
+        mvc.perform(get("/bookings/owner?after=")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
+    }
+
+    @Test
+    void getAllByUserWrongCursorTest() throws Exception {
+        mvc.perform(get("/bookings?after=wrong")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 2L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getByIdTest() throws Exception {
         when(bookingService.getById(anyLong(), anyLong()))
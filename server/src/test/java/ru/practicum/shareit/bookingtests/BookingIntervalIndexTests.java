@@ -0,0 +1,106 @@
+package ru.practicum.shareit.bookingtests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.availability.BookingIntervalIndex;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingIntervalIndexTests {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private BookingIntervalIndex intervalIndex;
+
+    @BeforeEach
+    void init() {
+        intervalIndex = new BookingIntervalIndex();
+        assertTrue(intervalIndex.tryAdd(1L, 1L, DAY.plusDays(1), DAY.plusDays(3)));
+        assertTrue(intervalIndex.tryAdd(1L, 2L, DAY.plusDays(5), DAY.plusDays(6)));
+    }
+
+    @Test
+    void overlappingIntervalIsNotFree() {
+        assertFalse(intervalIndex.isFree(1L, DAY, DAY.plusDays(2)));
+        assertFalse(intervalIndex.isFree(1L, DAY.plusDays(2), DAY.plusDays(4)));
+        assertFalse(intervalIndex.isFree(1L, DAY, DAY.plusDays(10)));
+        assertFalse(intervalIndex.tryAdd(1L, 3L, DAY.plusHours(36), DAY.plusHours(40)));
+    }
+
+    @Test
+    void adjacentIntervalIsFree() {
+        assertTrue(intervalIndex.isFree(1L, DAY, DAY.plusDays(1)));
+        assertTrue(intervalIndex.isFree(1L, DAY.plusDays(3), DAY.plusDays(5)));
+        assertTrue(intervalIndex.isFree(1L, DAY.plusDays(6), DAY.plusDays(7)));
+    }
+
+    @Test
+    void otherItemIsFree() {
+        assertTrue(intervalIndex.isFree(2L, DAY.plusDays(1), DAY.plusDays(3)));
+    }
+
+    @Test
+    void removedIntervalIsFree() {
+        intervalIndex.remove(1L, 1L, DAY.plusDays(1));
+
+        assertTrue(intervalIndex.isFree(1L, DAY, DAY.plusDays(2)));
+        assertEquals(1, intervalIndex.size());
+    }
+
+    @Test
+    void removedItemIsFree() {
+        intervalIndex.removeItem(1L);
+
+        assertTrue(intervalIndex.isFree(1L, DAY, DAY.plusDays(10)));
+        assertEquals(0, intervalIndex.size());
+    }
+
+    @Test
+    void endedIntervalsArePruned() {
+        BookingIntervalIndex clocked = new BookingIntervalIndex(Clock.fixed(
+                DAY.plusDays(4).toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        assertTrue(clocked.tryAdd(1L, 1L, DAY.plusDays(1), DAY.plusDays(3)));
+        assertTrue(clocked.tryAdd(2L, 2L, DAY.plusDays(2), DAY.plusDays(3)));
+        assertEquals(0, clocked.size());
+
+        assertTrue(clocked.tryAdd(1L, 3L, DAY.plusDays(5), DAY.plusDays(6)));
+        assertEquals(1, clocked.size());
+    }
+
+    @Test
+    void pruneAllDropsEndedIntervals() {
+        Instant[] now = {DAY.toInstant(ZoneOffset.UTC)};
+        BookingIntervalIndex clocked = new BookingIntervalIndex(new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now[0];
+            }
+        });
+        assertTrue(clocked.tryAdd(1L, 1L, DAY.plusDays(1), DAY.plusDays(3)));
+        assertTrue(clocked.tryAdd(1L, 2L, DAY.plusDays(5), DAY.plusDays(6)));
+        assertTrue(clocked.tryAdd(2L, 3L, DAY.plusDays(1), DAY.plusDays(2)));
+
+        now[0] = DAY.plusDays(4).toInstant(ZoneOffset.UTC);
+        clocked.pruneAll();
+
+        assertEquals(1, clocked.size());
+        assertFalse(clocked.isFree(1L, DAY.plusDays(5), DAY.plusDays(6)));
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.bookingtests;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dao.BookingDao;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.StatusType;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.bookingtests.BookingQueryPlanTests$CapturingInspector")
+public class BookingQueryPlanTests {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 0, 0);
+
+    private static final Long USER = 100007L;
+
+    private static final Long ITEM = 100007L;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BookingDao bookingRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("insert into users (id, name, email) "
+                + "select x, 'user' || x, 'user' || x || '@email.com' from system_range(100001, 100200)");
+        jdbcTemplate.update("insert into items (id, name, description, is_available, user_id) "
+                + "select x, 'item' || x, 'description' || x, true, mod(x, 200) + 100001 "
+                + "from system_range(100001, 102000)");
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) "
+                + "select dateadd('HOUR', x, TIMESTAMP '2030-01-01 00:00:00'), "
+                + "dateadd('HOUR', x + 2, TIMESTAMP '2030-01-01 00:00:00'), "
+                + "mod(x, 2000) + 100001, mod(x * 7, 200) + 100001, "
+                + "case mod(x, 3) when 0 then 'WAITING' when 1 then 'APPROVED' else 'REJECTED' end "
+                + "from system_range(1, 5000)");
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("bookingDaoQueries")
+    void bookingDaoQueryDoesNotScanTableTest(String method, Consumer<BookingDao> query) {
+        query.accept(bookingRepository);
+        List<String> statements = new ArrayList<>(CapturingInspector.STATEMENTS);
+
+        assertThat(statements, not(empty()));
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+            assertThat(plan, not(containsStringIgnoringCase("tableScan")));
+        }
+    }
+
+    static Stream<Arguments> bookingDaoQueries() {
+        BookingCursor cursor = new BookingCursor(NOW, 100L);
+        return Stream.of(
+                Arguments.of("findTopByItemIdAndEndBeforeAndStatusInOrderByEndDesc", (Consumer<BookingDao>) dao ->
+                        dao.findTopByItemIdAndEndBeforeAndStatusInOrderByEndDesc(ITEM, NOW,
+                                List.of(StatusType.APPROVED))),
+                Arguments.of("findTopByItemIdAndStartAfterAndStatusInOrderByStartAsc", (Consumer<BookingDao>) dao ->
+                        dao.findTopByItemIdAndStartAfterAndStatusInOrderByStartAsc(ITEM, NOW,
+                                List.of(StatusType.APPROVED))),
+                Arguments.of("findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore", (Consumer<BookingDao>) dao ->
+                        dao.findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(USER, ITEM,
+                                StatusType.APPROVED, NOW)),
+                Arguments.of("findAllByBookerIdAndStatusAndEndAfter", (Consumer<BookingDao>) dao ->
+                        dao.findAllByBookerIdAndStatusAndEndAfter(USER, StatusType.APPROVED, NOW)),
+                Arguments.of("findAllByItemOwnerIdAndStatusAndEndAfter", (Consumer<BookingDao>) dao ->
+                        dao.findAllByItemOwnerIdAndStatusAndEndAfter(USER, StatusType.APPROVED, NOW)),
+                Arguments.of("findAllByIdInAndItemOwnerId", (Consumer<BookingDao>) dao ->
+                        dao.findAllByIdInAndItemOwnerId(List.of(1L, 2L, 3L), USER)),
+                findAll(false, StatusType.ALL),
+                findAll(false, StatusType.CURRENT),
+                findAll(false, StatusType.PAST),
+                findAll(false, StatusType.FUTURE),
+                findAll(false, StatusType.WAITING),
+                findAll(true, StatusType.ALL),
+                findAll(true, StatusType.CURRENT),
+                findAll(true, StatusType.PAST),
+                findAll(true, StatusType.FUTURE),
+                findAll(true, StatusType.WAITING),
+                Arguments.of("findAllAfter(booker, ALL)", (Consumer<BookingDao>) dao ->
+                        dao.findAllAfter(USER, false, StatusType.ALL, cursor, 10)),
+                Arguments.of("findAllAfter(owner, ALL)", (Consumer<BookingDao>) dao ->
+                        dao.findAllAfter(USER, true, StatusType.ALL, cursor, 10))
+        );
+    }
+
+    private static Arguments findAll(boolean byOwner, StatusType state) {
+        return Arguments.of("findAll(" + (byOwner ? "owner" : "booker") + ", " + state + ")",
+                (Consumer<BookingDao>) dao -> dao.findAll(USER, byOwner, state, 10, 10));
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -5,9 +5,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.dao.BookingDao;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.LastNextBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.StatusType;
 import ru.practicum.shareit.item.dao.ItemDao;
@@ -41,8 +41,6 @@ public class BookingRepositoryTests {
 
     private Booking booking;
 
-    private Sort sort;
-
     @BeforeEach
     void init() {
         user = User.builder()
@@ -69,8 +67,6 @@ public class BookingRepositoryTests {
                 .booker(user2)
                 .status(APPROVED)
                 .build();
-
-        sort = Sort.by(Sort.Direction.DESC, "start");
     }
 
     @AfterEach
@@ -100,9 +96,8 @@ public class BookingRepositoryTests {
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByBookerId(user2.getId(),
-                PageRequest.of(0, 10, sort)
-        ).stream().count(), equalTo(1L));
+        assertThat(bookingRepository.findAll(user2.getId(), false, StatusType.ALL, 0, 10).orElseThrow().size(),
+                equalTo(1));
     }
 
     @Test
@@ -119,39 +114,121 @@ public class BookingRepositoryTests {
     }
 
     @Test
-    void findAllByBookerAndStartBeforeAndEndAfterTest() {
+    void findAllCurrentByBookerTest() {
+        userRepository.save(user);
+        itemRepository.save(item);
+        userRepository.save(user2);
+        bookingRepository.save(booking);
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(booking(now.minusDays(1), now.plusDays(1), APPROVED));
+        assertThat(bookingRepository.findAll(user2.getId(), false, StatusType.CURRENT, 0, 10).orElseThrow().size(),
+                equalTo(1));
+    }
+
+    @Test
+    void findAllPastByItemOwnerTest() {
         userRepository.save(user);
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(user2.getId(),
-                LocalDateTime.of(2023, 2, 1, 10, 10),
-                LocalDateTime.of(2023, 1, 1, 10, 30),
-                PageRequest.of(0, 10, sort)
-        ).stream().count(), equalTo(1L));
+        assertThat(bookingRepository.findAll(user.getId(), true, StatusType.PAST, 0, 10).orElseThrow().size(),
+                equalTo(1));
     }
 
+
     @Test
-    void findAllByItemOwnerAndEndBeforeTest() {
+    void findAllWaitingByItemOwnerTest() {
         userRepository.save(user);
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByItemOwnerIdAndEndBefore(user.getId(),
-                LocalDateTime.of(2023, 4, 10, 10, 10),
-                PageRequest.of(0, 10, sort)).stream().count(), equalTo(1L));
+        LocalDateTime now = LocalDateTime.now();
+        Booking waiting = bookingRepository.save(booking(now.plusDays(1), now.plusDays(2), StatusType.WAITING));
+        bookingRepository.save(booking(now.plusDays(3), now.plusDays(4), StatusType.WAITING));
+        List<Booking> page = bookingRepository.findAll(user.getId(), true, StatusType.WAITING, 1, 1)
+                .orElseThrow();
+        assertThat(page.size(), equalTo(1));
+        assertThat(page.get(0).getId(), equalTo(waiting.getId()));
+    }
+
+    @Test
+    void findLastNextBookingTest() {
+        userRepository.save(user);
+        itemRepository.save(item);
+        userRepository.save(user2);
+        Item emptyItem = itemRepository.save(Item.builder().name("empty").description("description")
+                .available(true).owner(user).build());
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(booking(now.minusDays(10), now.minusDays(9), APPROVED));
+        Booking last = bookingRepository.save(booking(now.minusDays(5), now.minusDays(4), APPROVED));
+        bookingRepository.save(booking(now.minusDays(2), now.minusDays(1), StatusType.REJECTED));
+        Booking next = bookingRepository.save(booking(now.plusDays(1), now.plusDays(2), APPROVED));
+        bookingRepository.save(booking(now.plusDays(5), now.plusDays(6), APPROVED));
+        bookingRepository.flush();
+
+        List<LastNextBookingDto> result = bookingRepository.findLastNextBooking(List.of(item.getId(),
+                emptyItem.getId()));
+
+        assertThat(result.size(), equalTo(1));
+        assertThat(result.get(0).getItemId(), equalTo(item.getId()));
+        assertThat(result.get(0).getLastBookingId(), equalTo(last.getId()));
+        assertThat(result.get(0).getLastBookingBookerId(), equalTo(user2.getId()));
+        assertThat(result.get(0).getNextBookingId(), equalTo(next.getId()));
+        assertThat(result.get(0).getNextBookingBookerId(), equalTo(user2.getId()));
+    }
+
+    @Test
+    void findLastNextBookingForNoItemsTest() {
+        assertThat(bookingRepository.findLastNextBooking(List.of()).size(), equalTo(0));
     }
 
+    @Test
+    void findAllAfterSeeksPastCursorTest() {
+        userRepository.save(user);
+        itemRepository.save(item);
+        userRepository.save(user2);
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 10, 30);
+        Booking first = bookingRepository.save(booking(start.plusDays(1), start.plusDays(2), APPROVED));
+        Booking second = bookingRepository.save(booking(start, start.plusDays(1), APPROVED));
+        Booking third = bookingRepository.save(booking(start, start.plusDays(1), StatusType.WAITING));
+
+        List<Booking> firstPage = bookingRepository.findAllAfter(user2.getId(), false, StatusType.ALL, null, 2)
+                .orElseThrow();
+        List<Booking> secondPage = bookingRepository.findAllAfter(user2.getId(), false, StatusType.ALL,
+                new BookingCursor(third.getStart(), third.getId()), 2).orElseThrow();
+        List<Booking> ownerPage = bookingRepository.findAllAfter(user.getId(), true, StatusType.WAITING, null, 2)
+                .orElseThrow();
+
+        assertThat(firstPage.get(0).getId(), equalTo(first.getId()));
+        assertThat(firstPage.get(1).getId(), equalTo(third.getId()));
+        assertThat(secondPage.size(), equalTo(1));
+        assertThat(secondPage.get(0).getId(), equalTo(second.getId()));
+        assertThat(ownerPage.size(), equalTo(1));
+        assertThat(ownerPage.get(0).getId(), equalTo(third.getId()));
+    }
 
     @Test
-    void findAllByItemOwnerAndStatusEqualsTest() {
+    void findAllTellsUserWithoutBookingsFromUnknownUserTest() {
         userRepository.save(user);
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByItemOwnerIdAndStatusEquals(user.getId(), APPROVED,
-                        PageRequest.of(0, 10, sort))
-                .stream().count(), equalTo(1L));
+
+        assertThat(bookingRepository.findAll(user.getId(), false, StatusType.ALL, 0, 10).orElseThrow().size(),
+                equalTo(0));
+        assertThat(bookingRepository.findAll(user2.getId(), false, StatusType.FUTURE, 0, 10).orElseThrow().size(),
+                equalTo(0));
+        assertThat(bookingRepository.findAll(user2.getId() + 1000, false, StatusType.ALL, 0, 10).isPresent(),
+                equalTo(false));
     }
 
+    private Booking booking(LocalDateTime start, LocalDateTime end, StatusType status) {
+        return Booking.builder()
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(user2)
+                .status(status)
+                .build();
+    }
 }
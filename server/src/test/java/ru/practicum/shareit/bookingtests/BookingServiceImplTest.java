@@ -8,13 +8,17 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
 import ru.practicum.shareit.booking.dao.BookingDao;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.StatusType;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ConflictException;
+import ru.practicum.shareit.exceptions.ModelNotFoundException;
 import ru.practicum.shareit.item.dao.ItemDao;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -23,15 +27,15 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
@@ -49,6 +53,8 @@ class BookingServiceImplTest {
     private UserDao userRepository;
     @Mock
     private ItemDao itemRepository;
+    @Mock
+    private BookingAvailability bookingAvailability;
 
     private User user1;
     private User user2;
@@ -180,121 +186,83 @@ class BookingServiceImplTest {
         assertEquals(approvedDto, bookingDto);
     }
 
-    @ParameterizedTest
-    @EnumSource(StatusType.class)
-    void getAllByOwner(StatusType state) {
-        int from = 1;
-        int size = 10;
-
-        List<Booking> bookingDtoList = Stream.of(booking1, booking).filter(Objects::nonNull).collect(Collectors.toList());
-
-        Executor finder = () -> {
-            List<BookingDto> found = bookingService.getAllByOwner(1L, state, from, size);
-            assertNotNull(found);
-            assertEquals(2, found.size());
-        };
-
-        switch (state) {
-            case ALL:
-                when(bookingRepository.findAllByItemOwnerId(anyLong(), any(PageRequest.class))).thenReturn(bookingDtoList);
-                finder.execute();
-                verify(bookingRepository, times(1))
-                        .findAllByItemOwnerId(anyLong(), any(PageRequest.class));
-                break;
-            case CURRENT:
-                when(bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfter(anyLong(), any(LocalDateTime.class),
-                        any(LocalDateTime.class), any(PageRequest.class))).thenReturn(bookingDtoList);
-                finder.execute();
-                verify(bookingRepository, times(1))
-                        .findAllByItemOwnerIdAndStartBeforeAndEndAfter(anyLong(), any(LocalDateTime.class),
-                                any(LocalDateTime.class), any(PageRequest.class));
-                break;
-            case PAST:
-                when(bookingRepository.findAllByItemOwnerIdAndEndBefore(anyLong(), any(LocalDateTime.class),
-                        any(PageRequest.class))).thenReturn(bookingDtoList);
-                finder.execute();
-                verify(bookingRepository, times(1))
-                        .findAllByItemOwnerIdAndEndBefore(anyLong(), any(LocalDateTime.class), any(PageRequest.class));
-                break;
+    @Test
+    void approveOverlapping() {
+        when(userService.getById(anyLong())).thenReturn(userDto1);
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.ofNullable(booking));
+        doThrow(new ConflictException("Item is already booked for these dates"))
+                .when(bookingAvailability).reserve(booking);
 
-            case FUTURE:
-                when(bookingRepository.findAllByItemOwnerIdAndStartAfter(anyLong(), any(LocalDateTime.class),
-                        any(PageRequest.class))).thenReturn(bookingDtoList);
-                finder.execute();
-                verify(bookingRepository, times(1))
-                        .findAllByItemOwnerIdAndStartAfter(anyLong(), any(LocalDateTime.class), any(PageRequest.class));
-                break;
+        assertThrows(ConflictException.class, () -> bookingService.approve(booking.getId(), user2.getId(), true));
+        assertEquals(StatusType.WAITING, booking.getStatus());
+    }
 
-            case WAITING:
+    @Test
+    void approveViolatingExclusionConstraint() {
+        when(userService.getById(anyLong())).thenReturn(userDto1);
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.ofNullable(booking));
+        when(bookingRepository.saveAndFlush(booking)).thenThrow(new DataIntegrityViolationException("overlap",
+                new SQLException("conflicting key value violates exclusion constraint", "23P01")));
 
-            case REJECTED:
-                when(bookingRepository.findAllByItemOwnerIdAndStatusEquals(anyLong(), any(StatusType.class),
-                        any(PageRequest.class))).thenReturn(bookingDtoList);
-                finder.execute();
-                verify(bookingRepository, times(1)).findAllByItemOwnerIdAndStatusEquals(anyLong(),
-                        any(StatusType.class), any(PageRequest.class));
-                break;
+        assertThrows(ConflictException.class, () -> bookingService.approve(booking.getId(), user2.getId(), true));
+    }
 
-        }
+    @ParameterizedTest
+    @EnumSource(StatusType.class)
+    void getAllByOwner(StatusType state) {
+        getAll(state, true, () -> bookingService.getAllByOwner(1L, state, 1, 10));
     }
 
     @ParameterizedTest
     @EnumSource(StatusType.class)
     void getAllByUser(StatusType state) {
-        int from = 1;
-        int size = 10;
+        getAll(state, false, () -> bookingService.getAllByUser(1L, state, 1, 10));
+    }
+
+    @Test
+    void getAllByUserWithoutBookings() {
+        when(bookingRepository.findAll(1L, false, StatusType.ALL, 0, 10)).thenReturn(Optional.of(List.of()));
+
+        assertEquals(0, bookingService.getAllByUser(1L, StatusType.ALL, 0, 10).size());
+        verify(userService, never()).getById(anyLong());
+    }
+
+    @Test
+    void getAllByUnknownUser() {
+        when(bookingRepository.findAll(1L, false, StatusType.ALL, 0, 10)).thenReturn(Optional.empty());
+
+        assertThrows(ModelNotFoundException.class, () -> bookingService.getAllByUser(1L, StatusType.ALL, 0, 10));
+        verify(userService, never()).getById(anyLong());
+    }
 
-        List<Booking> bookingDtoList = Stream.of(booking1, booking).filter(Objects::nonNull).collect(Collectors.toList());
+    @Test
+    void getAllByUserPastLastPage() {
+        when(bookingRepository.findAll(1L, false, StatusType.ALL, 20, 10)).thenReturn(Optional.empty());
+        when(userService.getById(1L)).thenReturn(userDto1);
 
-        Executor finder = () -> {
-            List<BookingDto> found = bookingService.getAllByUser(1L, state, from, size);
-            assertNotNull(found);
-            assertEquals(2, found.size());
-        };
+        assertEquals(0, bookingService.getAllByUser(1L, StatusType.ALL, 20, 10).size());
+        verify(userService, times(1)).getById(1L);
+    }
 
+    private void getAll(StatusType state, boolean byOwner, Supplier<List<BookingDto>> finder) {
         switch (state) {
             case ALL:
-                when(bookingRepository.findAllByBookerId(anyLong(), any(PageRequest.class))).thenReturn(bookingDtoList);
-                finder.execute();
-                verify(bookingRepository, times(1))
-                        .findAllByBookerId(anyLong(), any(PageRequest.class));
-                break;
             case CURRENT:
-                when(bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(anyLong(), any(LocalDateTime.class),
-                        any(LocalDateTime.class), any(PageRequest.class))).thenReturn(bookingDtoList);
-                finder.execute();
-                verify(bookingRepository, times(1))
-                        .findAllByBookerIdAndStartBeforeAndEndAfter(anyLong(), any(LocalDateTime.class),
-                                any(LocalDateTime.class), any(PageRequest.class));
-                break;
             case PAST:
-                when(bookingRepository.findAllByBookerIdAndEndBefore(anyLong(), any(LocalDateTime.class),
-                        any(PageRequest.class))).thenReturn(bookingDtoList);
-                finder.execute();
-                verify(bookingRepository, times(1))
-                        .findAllByBookerIdAndEndBefore(anyLong(), any(LocalDateTime.class), any(PageRequest.class));
-                break;
-
             case FUTURE:
-                when(bookingRepository.findAllByBookerIdAndStartAfter(anyLong(), any(LocalDateTime.class),
-                        any(PageRequest.class))).thenReturn(bookingDtoList);
-                finder.execute();
-                verify(bookingRepository, times(1))
-                        .findAllByBookerIdAndStartAfter(anyLong(), any(LocalDateTime.class), any(PageRequest.class));
-                break;
-
             case WAITING:
-
             case REJECTED:
-                when(bookingRepository.findAllByBookerIdAndStatusEquals(anyLong(), any(StatusType.class),
-                        any(PageRequest.class))).thenReturn(bookingDtoList);
-                finder.execute();
-                verify(bookingRepository, times(1)).findAllByBookerIdAndStatusEquals(anyLong(),
-                        any(StatusType.class), any(PageRequest.class));
+                when(bookingRepository.findAll(1L, byOwner, state, 0, 10))
+                        .thenReturn(Optional.of(List.of(booking1, booking)));
+                List<BookingDto> found = finder.get();
+                assertNotNull(found);
+                assertEquals(2, found.size());
+                verify(bookingRepository, times(1)).findAll(1L, byOwner, state, 0, 10);
+                verify(userService, never()).getById(anyLong());
                 break;
-
+            default:
+                assertThrows(BadRequestException.class, finder::get);
         }
-
     }
 
     @Test
@@ -306,9 +274,4 @@ class BookingServiceImplTest {
         assertEquals(bookingDto2, bookingGot);
 
     }
-
-    @FunctionalInterface
-    interface Executor {
-        void execute();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.bookingtests;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dao.BookingDao;
+import ru.practicum.shareit.booking.dto.LastNextBookingDto;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@DirtiesContext
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LastNextBookingBenchmarkTests {
+    private static final int ITEMS = 10_000;
+
+    private static final int BOOKINGS = 1_000_000;
+
+    private static final int CHUNK = 100_000;
+
+    private static final int PAGE = 1000;
+
+    private static final int WARMUP = 3;
+
+    private static final int RUNS = 11;
+
+    // findLastNextBooking as it was before the top-1 rewrite.
+    private static final String CORRELATED_QUERY = "select a.itemId as itemId, " +
+            "abl.id as lastBookingId, abl.booker_id as lastBookingBookerId, " +
+            "abn.id as nextBookingId, abn.booker_id as nextBookingBookerId " +
+            "from (" +
+            "select it.id as itemId, " +
+            "coalesce((select lb.id from bookings lb where lb.item_id = it.id and (lb.end_date < now() " +
+            "or lb.end_date = now() or lb.start_date = now() or lb.start_date < now()) " +
+            "and lb.status = 'APPROVED' order by lb.end_date asc limit 1), 0) as lastBookingId, " +
+            "coalesce((select nb.id from bookings nb where nb.item_id = it.id and nb.start_date > now() " +
+            "and nb.status = 'APPROVED' order by nb.start_date desc limit 1), 0) as nextBookingId " +
+            "from items as it where it.id in (:items)" +
+            ") a " +
+            "left join bookings abl on abl.id = a.lastBookingId " +
+            "left join bookings abn on abn.id = a.nextBookingId";
+
+    @Autowired
+    private BookingDao bookingRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void init() {
+        MapSqlParameterSource none = new MapSqlParameterSource();
+        jdbcTemplate.update("insert into users (id, name, email) "
+                + "select x, 'user' || x, 'user' || x || '@email.com' from system_range(200001, 200100)", none);
+        jdbcTemplate.update("insert into items (id, name, description, is_available, user_id) "
+                + "select x, 'item' || x, 'description' || x, true, 200001 from system_range(200001, "
+                + (200000 + ITEMS) + ")", none);
+        for (int from = 0; from < BOOKINGS; from += CHUNK) {
+            jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) "
+                    + "select dateadd('HOUR', x / " + ITEMS + " - " + BOOKINGS / ITEMS / 2 + ", localtimestamp), "
+                    + "dateadd('HOUR', x / " + ITEMS + " - " + BOOKINGS / ITEMS / 2 + " + 1, localtimestamp), "
+                    + "mod(x, " + ITEMS + ") + 200001, mod(x, 99) + 200002, "
+                    + "case mod(x / " + ITEMS + ", 3) when 0 then 'WAITING' when 1 then 'APPROVED' "
+                    + "else 'REJECTED' end "
+                    + "from system_range(" + from + ", " + (from + CHUNK - 1) + ")", none);
+        }
+        log.info("Seeded {} bookings over {} items", BOOKINGS, ITEMS);
+    }
+
+    @Test
+    void topOneQueryAgainstCorrelatedQueryTest() {
+        List<Long> items = LongStream.rangeClosed(200001, 200000 + PAGE).boxed().collect(Collectors.toList());
+
+        long correlated = median("correlated", () -> jdbcTemplate.query(CORRELATED_QUERY,
+                new MapSqlParameterSource("items", items), (rs, rowNum) -> rs.getLong("itemId")));
+        long topOne = median("top-1", () -> bookingRepository.findLastNextBooking(items));
+        log.info("top-1/correlated: {}", String.format("%.2f", (double) topOne / correlated));
+        assertThat(topOne, lessThan(correlated));
+
+        List<LastNextBookingDto> rows = bookingRepository.findLastNextBooking(items);
+        assertThat(rows.size(), equalTo(PAGE));
+        rows.forEach(row -> {
+            assertThat(row.getLastBookingId(), notNullValue());
+            assertThat(row.getNextBookingId(), notNullValue());
+        });
+    }
+
+    private long median(String name, Supplier<List<?>> query) {
+        for (int run = 0; run < WARMUP; run++) {
+            query.get();
+        }
+        long[] timings = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long started = System.nanoTime();
+            query.get();
+            timings[run] = System.nanoTime() - started;
+        }
+        Arrays.sort(timings);
+        log.info("{} last/next lookup for {} of {} items over {} bookings: median {} ms", name, PAGE, ITEMS,
+                BOOKINGS, timings[RUNS / 2] / 1_000_000);
+        return timings[RUNS / 2];
+    }
+}
@@ -20,6 +20,7 @@ import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -108,6 +109,24 @@ public class ItemControllerTests {
         assertEquals(item, itemController.getById(2L, 1L));
     }
 
+    @Test
+    void createAllTest() {
+        UserDto user = userController.create(userDto);
+        List<ItemDto> items = itemController.createAll(user.getId(), List.of(itemInDto, itemInDto2));
+        assertEquals(2, items.size());
+        assertEquals(itemInDto2.getName(), itemController.getById(user.getId(), items.get(1).getId()).getName());
+        assertEquals(2, itemController.getAllByOwner(user.getId(), 0, 10).size());
+    }
+
+    @Test
+    void createAllWithWrongItemRequest() {
+        itemInDto2.setRequestId(10L);
+        UserDto user = userController.create(userDto);
+        assertThrows(ModelNotFoundException.class,
+                () -> itemController.createAll(user.getId(), List.of(itemInDto, itemInDto2)));
+        assertEquals(0, itemController.getAllByOwner(user.getId(), 0, 10).size());
+    }
+
     @Test
     void createByWrongUser() {
         assertThrows(ModelNotFoundException.class, () -> itemController.create(1L, itemInDto));
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.itemtests;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dao.BookingDao;
+import ru.practicum.shareit.booking.dto.LastNextBookingDto;
+import ru.practicum.shareit.item.dao.CommentDao;
+import ru.practicum.shareit.item.dao.ItemDao;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.dao.ItemRequestDao;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+@Tag("benchmark")
+@ExtendWith(MockitoExtension.class)
+class ItemOwnerListingBenchmarkTests {
+    private static final int[] PAGE_SIZES = {1000, 2500, 5000, 10000};
+
+    private static final int WARMUP = 200;
+
+    private static final int RUNS = 31;
+
+    @Mock
+    private UserService userService;
+    @Mock
+    private CommentDao commentRepository;
+    @Mock
+    private ItemRequestDao itemRequestRepository;
+    @Mock
+    private ItemDao itemRepository;
+    @Mock
+    private BookingDao bookingRepository;
+    @Mock
+    private ItemSearchEngine searchEngine;
+    @InjectMocks
+    private ItemServiceImpl itemService;
+
+    @Test
+    void getByOwnerScalesLinearlyTest() {
+        warmUp(PAGE_SIZES[PAGE_SIZES.length - 1]);
+        double[] nanosPerItem = new double[PAGE_SIZES.length];
+        for (int i = 0; i < PAGE_SIZES.length; i++) {
+            int size = PAGE_SIZES[i];
+            stubPage(size);
+            long[] timings = new long[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                long started = System.nanoTime();
+                List<ItemDto> page = itemService.getByOwner(1L, 0, size);
+                timings[run] = System.nanoTime() - started;
+                assertThat(page.size(), equalTo(size));
+                assertThat(page.get(size - 1).getNextBooking().getId(), equalTo(2L * size));
+            }
+            Arrays.sort(timings);
+            nanosPerItem[i] = (double) timings[RUNS / 2] / size;
+            log.info("getByOwner with {} items: median {} us, {} ns/item", size,
+                    timings[RUNS / 2] / 1000, String.format("%.1f", nanosPerItem[i]));
+        }
+
+        // A per-item scan of the rows would make the largest page 10x more expensive per item than the smallest.
+        assertThat(nanosPerItem[PAGE_SIZES.length - 1] / nanosPerItem[0], lessThan(3.0));
+    }
+
+    private void warmUp(int size) {
+        stubPage(size);
+        for (int run = 0; run < WARMUP; run++) {
+            itemService.getByOwner(1L, 0, size);
+        }
+    }
+
+    private void stubPage(int size) {
+        User owner = User.builder().id(1L).name("owner").email("owner@email.com").version(0L).build();
+        List<Item> items = new ArrayList<>(size);
+        List<LastNextBookingDto> rows = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            items.add(Item.builder().id(id).name("item").description("description").available(true)
+                    .owner(owner).version(0L).build());
+            rows.add(LastNextBookingDto.builder().itemId(id).lastBookingId(id).lastBookingBookerId(2L)
+                    .nextBookingId(id + size).nextBookingBookerId(2L).build());
+        }
+        Collections.shuffle(rows);
+        when(itemRepository.findAllByOwnerIdOrderById(eq(1L), any())).thenReturn(items);
+        when(bookingRepository.findLastNextBooking(anyList())).thenReturn(rows);
+        when(commentRepository.findAllByItemIn(anyList(), any())).thenReturn(Collections.emptyList());
+    }
+}
@@ -50,6 +50,17 @@ public class ItemRepositoryTests {
         assertThat(items.size(), equalTo(1));
     }
 
+    @Test
+    void searchIsPagedTest() {
+        User user = userRepository.save(User.builder().name("name").email("email@email.com").build());
+        itemRepository.save(Item.builder().name("name").description("description").available(true).owner(user).build());
+        itemRepository.save(Item.builder().name("name2").description("description2").available(true).owner(user).build());
+        itemRepository.save(Item.builder().name("name3").description("description3").available(false).owner(user).build());
+        assertThat(itemRepository.findAllByCriteria("desc", PageRequest.of(0, 1)).size(), equalTo(1));
+        assertThat(itemRepository.findAllByCriteria("desc", PageRequest.of(1, 1)).size(), equalTo(1));
+        assertThat(itemRepository.findAllByCriteria("desc", PageRequest.of(2, 1)).size(), equalTo(0));
+    }
+
     @Test
     void findAllByOwnerIdTest() {
         User user = userRepository.save(User.builder().name("name").email("email@email.com").build());
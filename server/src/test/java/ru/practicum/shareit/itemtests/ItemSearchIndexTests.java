@@ -0,0 +1,72 @@
+package ru.practicum.shareit.itemtests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemSearchIndexTests {
+    private ItemSearchIndex searchIndex;
+
+    @BeforeEach
+    void init() {
+        searchIndex = new ItemSearchIndex();
+        searchIndex.index(item(1L, "Дрель", "Простая дрель", true));
+        searchIndex.index(item(2L, "Отвертка", "Аккумуляторная отвертка", true));
+        searchIndex.index(item(3L, "Аккумуляторная дрель", "Дрель + аккумулятор", true));
+        searchIndex.index(item(4L, "Пила", "Аккумуляторная пила", false));
+    }
+
+    @Test
+    void searchIsCaseInsensitiveAndPrefixed() {
+        assertEquals(List.of(2L), searchIndex.search("оТверТ", 0, 10));
+        assertEquals(List.of(3L, 2L), searchIndex.search("аккУМУляторная", 0, 10));
+    }
+
+    @Test
+    void searchRanksNameMatchesFirst() {
+        assertEquals(List.of(1L, 3L), searchIndex.search("дрель", 0, 10));
+    }
+
+    @Test
+    void searchRequiresAllWords() {
+        assertEquals(List.of(3L), searchIndex.search("дрель аккум", 0, 10));
+    }
+
+    @Test
+    void searchIsPaged() {
+        assertEquals(List.of(3L), searchIndex.search("дрель", 1, 1));
+        assertTrue(searchIndex.search("дрель", 2, 10).isEmpty());
+    }
+
+    @Test
+    void searchSkipsBlankText() {
+        assertTrue(searchIndex.search("  ", 0, 10).isEmpty());
+    }
+
+    @Test
+    void updateAndRemoveAreReflected() {
+        searchIndex.index(item(1L, "Молоток", "Тяжелый молоток", true));
+        assertEquals(List.of(3L), searchIndex.search("дрель", 0, 10));
+
+        searchIndex.index(item(4L, "Пила", "Аккумуляторная пила", true));
+        assertEquals(List.of(4L), searchIndex.search("пила", 0, 10));
+
+        searchIndex.remove(4L);
+        assertTrue(searchIndex.search("пила", 0, 10).isEmpty());
+    }
+
+    private Item item(Long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
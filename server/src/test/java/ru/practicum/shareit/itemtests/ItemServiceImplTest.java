@@ -20,6 +20,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemInDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.dao.ItemRequestDao;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -38,6 +39,7 @@ import java.util.stream.Stream;
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -54,6 +56,8 @@ class ItemServiceImplTest {
     private ItemDao itemRepository;
     @Mock
     private BookingDao bookingRepository;
+    @Mock
+    private ItemSearchEngine searchEngine;
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -317,15 +321,34 @@ class ItemServiceImplTest {
 
     }
 
+    @Test
+    void getByOwnerJoinsBookingsByItemId() {
+        item2.setId(2L);
+        List<Item> items = List.of(item1, item2);
+
+        when(itemRepository.findAllByOwnerIdOrderById(anyLong(), any(PageRequest.class))).thenReturn(items);
+        when(bookingRepository.findLastNextBooking(anyList())).thenReturn(List.of(lastNextBookingDto));
+        when(commentRepository.findAllByItemIn(anyList(), any(Sort.class))).thenReturn(List.of(comment1));
+        List<ItemDto> itemsList = itemService.getByOwner(1L, 0, 10);
+
+        assertEquals(2, itemsList.size());
+        assertEquals(1L, itemsList.get(0).getLastBooking().getId());
+        assertEquals(2L, itemsList.get(0).getNextBooking().getId());
+        assertEquals(1, itemsList.get(0).getComments().size());
+        assertNull(itemsList.get(1).getLastBooking());
+        assertNull(itemsList.get(1).getNextBooking());
+        assertEquals(0, itemsList.get(1).getComments().size());
+    }
+
     @Test
     void search() {
-        when(itemRepository.findAllByCriteria(anyString(), any(PageRequest.class)))
+        when(searchEngine.search(anyString(), anyInt(), anyInt()))
                 .thenReturn(Stream.of(item1).filter(Objects::nonNull).collect(Collectors.toList()));
 
-        List<ItemDto> searched = itemService.search(searchedText, 1, 1);
+        List<ItemDto> searched = itemService.search(searchedText, 0, 1);
         assertNotNull(searched);
-        verify(itemRepository, times(1)).findAllByCriteria(anyString(), any(PageRequest.class));
-
+        assertEquals(1, searched.size());
+        verify(searchEngine, times(1)).search(searchedText, 0, 1);
     }
 }
 
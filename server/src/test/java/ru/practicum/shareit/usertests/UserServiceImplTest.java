@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
 import ru.practicum.shareit.user.dao.UserDao;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
@@ -24,6 +25,8 @@ import static org.mockito.Mockito.*;
 class UserServiceImplTest {
     @Mock
     private UserDao userRepository;
+    @Mock
+    private BookingAvailability bookingAvailability;
     @InjectMocks
     private UserServiceImpl userService;
     private UserDto userDto1;
@@ -100,5 +103,6 @@ class UserServiceImplTest {
         UserDto removed = userService.delete(user1.getId());
         assertEquals(userDto1, removed);
         verify(userRepository, times(1)).deleteById(user1.getId());
+        verify(bookingAvailability, times(1)).releaseUser(user1.getId());
     }
 }
\ No newline at end of file